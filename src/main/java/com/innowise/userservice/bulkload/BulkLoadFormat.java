@@ -0,0 +1,17 @@
+package com.innowise.userservice.bulkload;
+
+import org.springframework.http.MediaType;
+
+// CSV goes to COPY as is, NDJSON is rewritten to CSV on the fly (NdjsonCsvTranscoder)
+public enum BulkLoadFormat {
+    CSV,
+    NDJSON;
+
+    public static final String CSV_VALUE = "text/csv";
+
+    public static BulkLoadFormat fromContentType(String contentType) {
+        return MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV_VALUE))
+                ? CSV
+                : NDJSON;
+    }
+}
@@ -0,0 +1,70 @@
+package com.innowise.userservice.bulkload;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/*
+    Target of a bulk load. Input is copied into a temporary staging table with the column types of the target
+    (malformed values fail the COPY with their line), then merged into the target with one insert:
+    rows with blank required values, rows conflicting with existing ones (or each other) and, for cards,
+    rows of unknown users are skipped. Existing rows are never changed.
+    CSV input has a header line and the columns in the order of getColumns(), NDJSON uses getFields().
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BulkLoadTable {
+    USERS("users", "user_stage",
+            """
+            create temporary table user_stage (
+                user_id varchar(255),
+                name varchar(255),
+                surname varchar(255),
+                birth_date date,
+                email varchar(255)
+            ) on commit drop
+            """,
+            List.of("user_id", "name", "surname", "birth_date", "email"),
+            List.of("userId", "name", "surname", "birthDate", "email"),
+            """
+            insert into users (id, user_id, name, surname, birth_date, email)
+            select gen_random_uuid(), s.user_id, s.name, s.surname, s.birth_date, s.email
+            from user_stage s
+            where btrim(s.user_id) <> '' and btrim(s.name) <> '' and btrim(s.surname) <> ''
+              and s.birth_date is not null and btrim(s.email) <> ''
+            on conflict do nothing
+            """),
+    // user_id is the external user id, as in CardCreateRequest
+    CARDS("card_info", "card_stage",
+            """
+            create temporary table card_stage (
+                user_id varchar(255),
+                number varchar(255),
+                holder varchar(255),
+                expiration_date date
+            ) on commit drop
+            """,
+            List.of("user_id", "number", "holder", "expiration_date"),
+            List.of("userId", "number", "holder", "expirationDate"),
+            """
+            insert into card_info (id, user_id, number, holder, expiration_date)
+            select gen_random_uuid(), u.id, s.number, s.holder, s.expiration_date
+            from card_stage s
+            join users u on u.user_id = s.user_id
+            where btrim(s.number) <> '' and btrim(s.holder) <> '' and s.expiration_date is not null
+            on conflict do nothing
+            """);
+
+    private final String table;
+    private final String stagingTable;
+    private final String stagingDdl;
+    private final List<String> columns;
+    private final List<String> fields;
+    private final String mergeSql;
+
+    public String copySql(boolean header) {
+        return "copy " + stagingTable + " (" + String.join(", ", columns) + ") from stdin with (format csv, header "
+                + header + ")";
+    }
+}
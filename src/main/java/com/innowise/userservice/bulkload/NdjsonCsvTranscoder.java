@@ -0,0 +1,55 @@
+package com.innowise.userservice.bulkload;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.innowise.userservice.dto.serialization.CsvWriter;
+import com.innowise.userservice.exception.InvalidBulkLoadDataException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/*
+    Rewrites NDJSON into CSV rows for COPY, one line at a time, without binding to DTOs or entities.
+    Missing and null fields become NULL, everything else is written as text (see CsvWriter).
+    Blank lines are skipped but counted.
+ */
+public class NdjsonCsvTranscoder {
+    private final ObjectReader objectReader;
+    private final List<String> fields;
+
+    public NdjsonCsvTranscoder(ObjectMapper objectMapper, List<String> fields) {
+        this.objectReader = objectMapper.reader();
+        this.fields = fields;
+    }
+
+    // returns the number of rows written, onRow is called after every row
+    public long transcode(BufferedReader reader, Writer writer, LongConsumer onRow) throws IOException {
+        var csv = new CsvWriter(writer);
+        long line = 0;
+        long rows = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            try {
+                var node = objectReader.readTree(text);
+                for (var field : fields) {
+                    var value = node.get(field);
+                    csv.field(value != null && !value.isNull() ? value.asText() : null);
+                }
+            } catch (JsonProcessingException e) {
+                throw new InvalidBulkLoadDataException("Invalid JSON at line " + line);
+            }
+            csv.endRow();
+            onRow.accept(++rows);
+        }
+        csv.flush();
+        return rows;
+    }
+}
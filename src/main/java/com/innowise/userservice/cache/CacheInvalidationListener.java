@@ -0,0 +1,50 @@
+package com.innowise.userservice.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+
+import java.nio.charset.StandardCharsets;
+
+@Slf4j
+@RequiredArgsConstructor
+public class CacheInvalidationListener implements MessageListener, SubscriptionListener {
+    private final TwoLevelCacheManager cacheManager;
+    private final String instanceId;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = CacheInvalidationMessage.decode(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping cache invalidation message: {}", e.getMessage());
+            return;
+        }
+
+        if (instanceId.equals(invalidation.origin())) {
+            return;
+        }
+
+        if (invalidation.isClear()) {
+            log.debug("Clearing local cache {} on remote request", invalidation.cacheName());
+            cacheManager.clearLocal(invalidation.cacheName());
+        } else {
+            log.debug("Evicting key {} from local cache {} on remote request",
+                    invalidation.key(), invalidation.cacheName());
+            cacheManager.evictLocal(invalidation.cacheName(), invalidation.key());
+        }
+    }
+
+    /*
+        Invoked on the initial subscription and on every resubscription after a lost connection.
+        Invalidations published while we were disconnected are gone, so drop everything held locally.
+     */
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        log.info("Subscribed to cache invalidation channel. Clearing local caches");
+        cacheManager.clearAllLocal();
+    }
+}
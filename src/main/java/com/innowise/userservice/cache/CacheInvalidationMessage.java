@@ -0,0 +1,33 @@
+package com.innowise.userservice.cache;
+
+/*
+    Wire format: "<origin>\n<cache name>\n<key>". An empty key means "clear the whole cache".
+ */
+public record CacheInvalidationMessage(
+        String origin,
+        String cacheName,
+        String key
+) {
+    private static final char SEPARATOR = '\n';
+
+    public boolean isClear() {
+        return key == null || key.isEmpty();
+    }
+
+    public String encode() {
+        return origin + SEPARATOR + cacheName + SEPARATOR + (key != null ? key : "");
+    }
+
+    public static CacheInvalidationMessage decode(String payload) {
+        var first = payload.indexOf(SEPARATOR);
+        var second = payload.indexOf(SEPARATOR, first + 1);
+        if (first < 0 || second < 0) {
+            throw new IllegalArgumentException("Malformed cache invalidation message: " + payload);
+        }
+        return new CacheInvalidationMessage(
+                payload.substring(0, first),
+                payload.substring(first + 1, second),
+                payload.substring(second + 1)
+        );
+    }
+}
@@ -0,0 +1,37 @@
+package com.innowise.userservice.cache;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+@Slf4j
+public class CacheInvalidationPublisher {
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    @Getter
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public void publishEvict(String cacheName, Object key) {
+        publish(new CacheInvalidationMessage(instanceId, cacheName, key.toString()));
+    }
+
+    public void publishClear(String cacheName) {
+        publish(new CacheInvalidationMessage(instanceId, cacheName, null));
+    }
+
+    private void publish(CacheInvalidationMessage message) {
+        try {
+            redisTemplate.convertAndSend(channel, message.encode());
+        } catch (Exception e) {
+            // other instances fall back to local TTL expiry, the request itself must not fail
+            log.warn("Failed to publish cache invalidation for cache {}: {}", message.cacheName(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.innowise.userservice.cache;
+
+// names of the application caches, shared by the services, authorization and the cache configuration
+public final class CacheNames {
+    // userId -> user with cards
+    public static final String USER_CACHE = "USER_CACHE";
+    // email -> userId, the user itself is cached only once under its userId in USER_CACHE
+    public static final String USER_EMAIL_CACHE = "USER_EMAIL_CACHE";
+    // cardId -> owner userId, ownership never changes after creation
+    public static final String CARD_OWNER_CACHE = "CARD_OWNER_CACHE";
+
+    private CacheNames() {
+    }
+}
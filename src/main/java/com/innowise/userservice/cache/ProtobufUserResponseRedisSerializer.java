@@ -0,0 +1,74 @@
+package com.innowise.userservice.cache;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.innowise.userservice.dto.UserResponse;
+import com.innowise.userservice.generated.User;
+import com.innowise.userservice.mapper.UserGrpcMapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+
+/*
+    Stores UserResponse as [MAGIC, VERSION, protobuf User.UserResponse bytes].
+    Values without the magic byte were written by the previous JSON serializer and are read with it,
+    so entries cached before the switch stay readable until they expire.
+ */
+public class ProtobufUserResponseRedisSerializer implements RedisSerializer<UserResponse> {
+    // never the first byte of a JSON document
+    static final byte MAGIC = (byte) 0xB1;
+    static final byte VERSION = 1;
+    private static final int HEADER_LENGTH = 2;
+
+    private final UserGrpcMapper userGrpcMapper;
+    private final RedisSerializer<UserResponse> legacySerializer;
+
+    public ProtobufUserResponseRedisSerializer(UserGrpcMapper userGrpcMapper,
+                                               RedisSerializer<UserResponse> legacySerializer) {
+        this.userGrpcMapper = userGrpcMapper;
+        this.legacySerializer = legacySerializer;
+    }
+
+    @Override
+    public byte[] serialize(UserResponse value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        var message = userGrpcMapper.toResponseWithCards(value);
+        var size = message.getSerializedSize();
+        var bytes = new byte[HEADER_LENGTH + size];
+        bytes[0] = MAGIC;
+        bytes[1] = VERSION;
+        try {
+            var output = CodedOutputStream.newInstance(bytes, HEADER_LENGTH, size);
+            message.writeTo(output);
+            output.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new SerializationException("Cannot serialize user " + value.userId(), e);
+        }
+        return bytes;
+    }
+
+    @Override
+    public UserResponse deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return legacySerializer.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[1] != VERSION) {
+            throw new SerializationException("Unsupported cached user format version: "
+                    + (bytes.length < HEADER_LENGTH ? "none" : bytes[1]));
+        }
+
+        try {
+            var input = CodedInputStream.newInstance(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+            return userGrpcMapper.fromResponse(User.UserResponse.parseFrom(input));
+        } catch (IOException e) {
+            throw new SerializationException("Cannot deserialize cached user", e);
+        }
+    }
+}
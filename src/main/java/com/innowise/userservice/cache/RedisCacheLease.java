@@ -0,0 +1,155 @@
+package com.innowise.userservice.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/*
+    Cross-instance miss coalescing: the instance that acquires the lease key loads the value,
+    the others poll the remote cache until it appears.
+    A waiter stops polling as soon as the lease key is gone without a value: if the holder left a failure marker
+    (its loader threw, e.g. the key does not exist) it loads itself right away, otherwise the lease expired
+    and it tries to take it over. It only loads without a lease after the wait timeout, which is never
+    shorter than the lease time, so waiters do not hit the database while the holder may still be loading.
+ */
+@Slf4j
+public class RedisCacheLease {
+    private static final String LEASE_PREFIX = "lease:";
+    private static final String FAILURE_PREFIX = "lease-failed:";
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) == ARGV[1] then
+                return redis.call('del', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration leaseTime;
+    private final Duration waitTimeout;
+    private final Duration pollInterval;
+
+    public RedisCacheLease(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry,
+                           Duration leaseTime, Duration waitTimeout, Duration pollInterval) {
+        if (waitTimeout.compareTo(leaseTime) < 0) {
+            throw new IllegalArgumentException("Lease wait timeout must not be shorter than lease time");
+        }
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.leaseTime = leaseTime;
+        this.waitTimeout = waitTimeout;
+        this.pollInterval = pollInterval;
+    }
+
+    public <T> T load(String cacheName, Object key, Callable<T> loader, Supplier<T> remoteLookup) throws Exception {
+        var leaseKey = LEASE_PREFIX + cacheName + "::" + key;
+        var failureKey = FAILURE_PREFIX + cacheName + "::" + key;
+        var deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            var token = UUID.randomUUID().toString();
+            if (tryAcquire(leaseKey, token)) {
+                count(cacheName, "acquired");
+                try {
+                    // the previous lease holder may have stored the value right before we acquired the lease
+                    var value = remoteLookup.get();
+                    return value != null ? value : loadAsHolder(failureKey, loader);
+                } finally {
+                    release(leaseKey, token);
+                }
+            }
+
+            count(cacheName, "contended");
+            while (System.nanoTime() < deadline && isHeld(leaseKey)) {
+                Thread.sleep(pollInterval.toMillis());
+                var value = remoteLookup.get();
+                if (value != null) {
+                    count(cacheName, "served-after-wait");
+                    return value;
+                }
+            }
+
+            // the holder stores the value before it releases the lease
+            var value = remoteLookup.get();
+            if (value != null) {
+                count(cacheName, "served-after-wait");
+                return value;
+            }
+            if (System.nanoTime() >= deadline) {
+                count(cacheName, "wait-timeout");
+                log.debug("Lease wait for {} timed out. Loading without lease", leaseKey);
+                return loader.call();
+            }
+            if (hasFailed(failureKey)) {
+                count(cacheName, "holder-failed");
+                return loader.call();
+            }
+        }
+    }
+
+    private <T> T loadAsHolder(String failureKey, Callable<T> loader) throws Exception {
+        try {
+            return loader.call();
+        } catch (Exception e) {
+            markFailed(failureKey);
+            throw e;
+        }
+    }
+
+    // on a Redis error the lease is treated as gone, tryAcquire then lets the caller load
+    private boolean isHeld(String leaseKey) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(leaseKey));
+        } catch (Exception e) {
+            log.warn("Failed to check cache lease {}: {}", leaseKey, e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean hasFailed(String failureKey) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(failureKey));
+        } catch (Exception e) {
+            log.warn("Failed to check cache lease failure {}: {}", failureKey, e.getMessage());
+            return false;
+        }
+    }
+
+    // lives for one lease time, long enough for the waiters of the failed holder to see it
+    private void markFailed(String failureKey) {
+        try {
+            redisTemplate.opsForValue().set(failureKey, "1", leaseTime);
+        } catch (Exception e) {
+            log.warn("Failed to mark cache lease failure {}: {}", failureKey, e.getMessage());
+        }
+    }
+
+    private boolean tryAcquire(String leaseKey, String token) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(leaseKey, token, leaseTime));
+        } catch (Exception e) {
+            log.warn("Failed to acquire cache lease {}: {}", leaseKey, e.getMessage());
+            return true;
+        }
+    }
+
+    private void release(String leaseKey, String token) {
+        try {
+            redisTemplate.execute(RELEASE_SCRIPT, List.of(leaseKey), token);
+        } catch (Exception e) {
+            log.warn("Failed to release cache lease {}: {}", leaseKey, e.getMessage());
+        }
+    }
+
+    private void count(String cacheName, String outcome) {
+        meterRegistry.counter("cache.lease", "cache", cacheName, "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,55 @@
+package com.innowise.userservice.cache;
+
+import com.innowise.userservice.exception.CacheLoadTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+/*
+    Deduplicates concurrent loads of the same key: the first caller runs the loader on its own thread,
+    the others wait for its result (or failure) up to the configured timeout.
+ */
+public class SingleFlight {
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+
+    public SingleFlight(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Callable<T> loader) throws Exception {
+        var call = new CompletableFuture<Object>();
+        var existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            return (T) await(key, existing);
+        }
+
+        try {
+            T value = loader.call();
+            call.complete(value);
+            return value;
+        } catch (Throwable e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private Object await(Object key, CompletableFuture<Object> call) throws Exception {
+        try {
+            return call.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw (Error) e.getCause();
+        } catch (TimeoutException e) {
+            throw new CacheLoadTimeoutException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+}
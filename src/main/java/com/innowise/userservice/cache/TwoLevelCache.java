@@ -0,0 +1,161 @@
+package com.innowise.userservice.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+
+/*
+    In-process Caffeine cache (L1) in front of a shared remote cache (L2, Redis).
+    Reads go L1 -> L2 -> loader, writes and evictions go to both levels.
+    Evictions are also published so that other instances drop their L1 copies.
+    Concurrent misses of the same key are coalesced, so only one loader hits the database.
+    With a lease configured, misses are also coalesced across instances.
+ */
+public class TwoLevelCache implements Cache {
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache;
+    private final Cache remoteCache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final SingleFlight singleFlight;
+    private final RedisCacheLease lease;
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache,
+                         Cache remoteCache,
+                         CacheInvalidationPublisher invalidationPublisher,
+                         SingleFlight singleFlight,
+                         RedisCacheLease lease) {
+        this.name = name;
+        this.localCache = localCache;
+        this.remoteCache = remoteCache;
+        this.invalidationPublisher = invalidationPublisher;
+        this.singleFlight = singleFlight;
+        this.lease = lease;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remoteCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        var localValue = localCache.getIfPresent(key);
+        if (localValue != null) {
+            return new SimpleValueWrapper(localValue);
+        }
+
+        var remoteValue = remoteCache.get(key);
+        if (remoteValue != null && remoteValue.get() != null) {
+            localCache.put(key, remoteValue.get());
+        }
+        return remoteValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        var wrapper = get(key);
+        var value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        Callable<T> loadAndPut = () -> {
+            T value = valueLoader.call();
+            put(key, value);
+            return value;
+        };
+        try {
+            return singleFlight.execute(key, lease == null
+                    ? loadAndPut
+                    : () -> lease.load(name, key, loadAndPut, () -> getRemote(key)));
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getRemote(Object key) {
+        var wrapper = remoteCache.get(key);
+        var value = wrapper != null ? wrapper.get() : null;
+        if (value != null) {
+            localCache.put(key, value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        remoteCache.put(key, value);
+        localCache.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        var existing = remoteCache.putIfAbsent(key, value);
+        var actual = existing != null ? existing.get() : value;
+        if (actual != null) {
+            localCache.put(key, actual);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remoteCache.evict(key);
+        localCache.invalidate(key);
+        invalidationPublisher.publishEvict(name, key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        localCache.invalidate(key);
+        var evicted = remoteCache.evictIfPresent(key);
+        invalidationPublisher.publishEvict(name, key);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remoteCache.clear();
+        localCache.invalidateAll();
+        invalidationPublisher.publishClear(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        localCache.invalidateAll();
+        var invalidated = remoteCache.invalidate();
+        invalidationPublisher.publishClear(name);
+        return invalidated;
+    }
+
+    public void evictLocal(Object key) {
+        localCache.invalidate(key);
+    }
+
+    public void clearLocal() {
+        localCache.invalidateAll();
+    }
+}
@@ -0,0 +1,72 @@
+package com.innowise.userservice.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+public class TwoLevelCacheManager implements CacheManager {
+    private final CacheManager remoteCacheManager;
+    private final Caffeine<Object, Object> localCacheBuilder;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final Duration loadTimeout;
+    private final RedisCacheLease lease;
+    private final Set<String> leasedCacheNames;
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                Caffeine<Object, Object> localCacheBuilder,
+                                CacheInvalidationPublisher invalidationPublisher,
+                                Duration loadTimeout,
+                                RedisCacheLease lease,
+                                Set<String> leasedCacheNames) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.localCacheBuilder = localCacheBuilder;
+        this.invalidationPublisher = invalidationPublisher;
+        this.loadTimeout = loadTimeout;
+        this.lease = lease;
+        this.leasedCacheNames = leasedCacheNames;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remoteCacheManager.getCacheNames();
+    }
+
+    public void evictLocal(String name, Object key) {
+        var cache = caches.get(name);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+
+    public void clearLocal(String name) {
+        var cache = caches.get(name);
+        if (cache != null) {
+            cache.clearLocal();
+        }
+    }
+
+    public void clearAllLocal() {
+        caches.values().forEach(TwoLevelCache::clearLocal);
+    }
+
+    private TwoLevelCache createCache(String name) {
+        var remoteCache = remoteCacheManager.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return new TwoLevelCache(name, localCacheBuilder.build(), remoteCache, invalidationPublisher,
+                new SingleFlight(loadTimeout), leasedCacheNames.contains(name) ? lease : null);
+    }
+}
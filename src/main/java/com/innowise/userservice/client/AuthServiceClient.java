@@ -1,13 +1,25 @@
 package com.innowise.userservice.client;
 
 import com.innowise.userservice.dto.ApiResponse;
+import com.innowise.userservice.dto.JwksResponse;
 import com.innowise.userservice.dto.ValidateTokenRequest;
+import com.innowise.userservice.dto.ValidateTokensRequest;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 
+import java.util.List;
+
 @FeignClient(name = "auth-service")
 public interface AuthServiceClient {
 
     @PostMapping("/api/v1/auth/validate")
     ApiResponse<Boolean> validate(ValidateTokenRequest request);
+
+    // data holds one result per requested token, in request order
+    @PostMapping("/api/v1/auth/validate/batch")
+    ApiResponse<List<Boolean>> validateBatch(ValidateTokensRequest request);
+
+    @GetMapping("${app.security.jwt.jwks-path:/api/v1/auth/jwks}")
+    JwksResponse getJwks();
 }
@@ -0,0 +1,51 @@
+package com.innowise.userservice.config;
+
+import feign.Client;
+import feign.http2client.Http2Client;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/*
+    Feign uses the pooled Apache HttpClient 5 (feign-hc5), so calls to auth-service reuse keep-alive connections.
+    Pool size and connection time-to-live are set by spring.cloud.openfeign.httpclient.*.
+    With app.feign.http2=true the JDK HttpClient (feign-java11) is used instead: calls are multiplexed over
+    one HTTP/2 connection, over plain http it asks for an h2c upgrade and stays on HTTP/1.1 if auth-service refuses.
+ */
+@Configuration
+public class FeignConfig {
+    @Value("${app.feign.httpclient.idle-timeout:30}")
+    private long idleTimeout;
+
+    // Connections idle for longer are closed before the server drops them, so a request never gets a dead one
+    @Bean
+    public HttpClient5FeignConfiguration.HttpClientBuilderCustomizer idleConnectionEvictionCustomizer() {
+        return builder -> builder.evictIdleConnections(TimeValue.ofSeconds(idleTimeout));
+    }
+
+    // takes the place of the hc5 client, whose idle pool is still created but never used
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "app.feign.http2", havingValue = "true")
+    public Client http2FeignClient() {
+        return new Http2Client();
+    }
+
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        return registry -> {
+            if (connectionManager.getIfAvailable() instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        };
+    }
+}
@@ -6,18 +6,33 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.impl.LaissezFaireSubTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innowise.userservice.cache.CacheInvalidationListener;
+import com.innowise.userservice.cache.CacheInvalidationPublisher;
+import com.innowise.userservice.cache.CacheNames;
+import com.innowise.userservice.cache.ProtobufUserResponseRedisSerializer;
+import com.innowise.userservice.cache.RedisCacheLease;
+import com.innowise.userservice.cache.TwoLevelCacheManager;
 import com.innowise.userservice.dto.UserResponse;
+import com.innowise.userservice.mapper.UserGrpcMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
 
 @Configuration
 public class RedisConfig {
@@ -25,6 +40,36 @@ public class RedisConfig {
     @Value("${spring.cache.redis.time-to-live:600}")
     private long timeToLive;
 
+    @Value("${app.cache.user.codec:protobuf}")
+    private String userCacheCodec;
+
+    @Value("${app.cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+
+    @Value("${app.cache.local.time-to-live:300}")
+    private long localTimeToLive;
+
+    @Value("${app.cache.load-timeout:5000}")
+    private long loadTimeout;
+
+    @Value("${app.cache.lease.caches:}")
+    private List<String> leasedCacheNames;
+
+    @Value("${app.cache.lease.lease-time:2000}")
+    private long leaseTime;
+
+    @Value("${app.cache.lease.wait-timeout:2500}")
+    private long leaseWaitTimeout;
+
+    @Value("${app.cache.lease.poll-interval:50}")
+    private long leasePollInterval;
+
+    @Value("${app.cache.invalidation.channel:user-service:cache-invalidation}")
+    private String invalidationChannel;
+
+    @Value("${app.cache.invalidation.recovery-interval:5000}")
+    private long invalidationRecoveryInterval;
+
     private ObjectMapper redisObjectMapper() {
         ObjectMapper om = new ObjectMapper();
         om.registerModule(new JavaTimeModule());
@@ -41,18 +86,72 @@ public class RedisConfig {
         return om;
     }
 
+    /*
+        "protobuf" writes compact versioned binary values and still reads JSON written before.
+        Use "json" while instances running the previous version share the same Redis.
+     */
+    private RedisSerializer<UserResponse> userCacheSerializer(UserGrpcMapper userGrpcMapper) {
+        var jsonSerializer = new Jackson2JsonRedisSerializer<>(redisObjectMapper(), UserResponse.class);
+        if ("json".equalsIgnoreCase(userCacheCodec)) {
+            return jsonSerializer;
+        }
+        return new ProtobufUserResponseRedisSerializer(userGrpcMapper, jsonSerializer);
+    }
+
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate redisTemplate) {
+        return new CacheInvalidationPublisher(redisTemplate, invalidationChannel);
+    }
+
+    @Bean
+    public RedisCacheLease redisCacheLease(StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        return new RedisCacheLease(redisTemplate, meterRegistry, Duration.ofMillis(leaseTime),
+                Duration.ofMillis(leaseWaitTimeout), Duration.ofMillis(leasePollInterval));
+    }
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             CacheInvalidationPublisher invalidationPublisher,
+                                             RedisCacheLease redisCacheLease,
+                                             UserGrpcMapper userGrpcMapper) {
         RedisCacheConfiguration cacheConfiguration = RedisCacheConfiguration
                 .defaultCacheConfig()
                 .disableCachingNullValues()
                 .entryTtl(Duration.ofSeconds(timeToLive))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new Jackson2JsonRedisSerializer<>(redisObjectMapper(), UserResponse.class)));
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(userCacheSerializer(userGrpcMapper)));
 
-        return RedisCacheManager
+        var stringCacheConfiguration = cacheConfiguration
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()));
+        var redisCacheManager = RedisCacheManager
                 .builder(connectionFactory)
                 .cacheDefaults(cacheConfiguration)
+                .withCacheConfiguration(CacheNames.USER_EMAIL_CACHE, stringCacheConfiguration)
+                .withCacheConfiguration(CacheNames.CARD_OWNER_CACHE, stringCacheConfiguration)
                 .build();
+        redisCacheManager.initializeCaches();
+
+        // Caffeine uses W-TinyLFU, so rarely requested users do not push hot ones out of the local cache
+        var localCacheBuilder = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(Duration.ofSeconds(localTimeToLive));
+
+        return new TwoLevelCacheManager(redisCacheManager, localCacheBuilder, invalidationPublisher,
+                Duration.ofMillis(loadTimeout), redisCacheLease, new HashSet<>(leasedCacheNames));
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TwoLevelCacheManager cacheManager,
+            CacheInvalidationPublisher invalidationPublisher) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setRecoveryInterval(invalidationRecoveryInterval);
+        container.addMessageListener(
+                new CacheInvalidationListener(cacheManager, invalidationPublisher.getInstanceId()),
+                new ChannelTopic(invalidationChannel)
+        );
+        return container;
     }
 
 }
@@ -1,18 +1,31 @@
 package com.innowise.userservice.controller;
 
+import com.innowise.userservice.bulkload.BulkLoadFormat;
+import com.innowise.userservice.bulkload.BulkLoadTable;
 import com.innowise.userservice.dto.ApiResponse;
+import com.innowise.userservice.dto.BulkLoadReport;
 import com.innowise.userservice.dto.CardCreateRequest;
 import com.innowise.userservice.dto.CardResponse;
+import com.innowise.userservice.dto.CursorPageResponse;
+import com.innowise.userservice.dto.PagedResponse;
+import com.innowise.userservice.pagination.CountMode;
+import com.innowise.userservice.security.AccessRule;
+import com.innowise.userservice.security.Authorize;
+import com.innowise.userservice.service.BulkLoadService;
 import com.innowise.userservice.service.CardService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.UUID;
 
 @RestController
@@ -20,17 +33,27 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class CardController {
     private final CardService cardService;
+    private final BulkLoadService bulkLoadService;
 
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN') or @securityService.canCreateCard(authentication.principal, #request)")
+    @Authorize(AccessRule.ADMIN_OR_CREATING_OWN_CARD)
     public ResponseEntity<ApiResponse<CardResponse>> create(@RequestBody @Valid CardCreateRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(
                 ApiResponse.success("Card created successfully", cardService.create(request))
         );
     }
 
+    // initial loads from the legacy system, see BulkLoadTable for the expected columns
+    @PostMapping(value = "/bulk-load", consumes = {BulkLoadFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Authorize(AccessRule.ADMIN)
+    public ResponseEntity<ApiResponse<BulkLoadReport>> bulkLoad(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(ApiResponse.success("Cards loaded successfully", bulkLoadService.load(
+                BulkLoadTable.CARDS, BulkLoadFormat.fromContentType(request.getContentType()), request.getInputStream()
+        )));
+    }
+
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @securityService.canAccessCard(authentication.principal, #id)")
+    @Authorize(AccessRule.ADMIN_OR_CARD_OWNER)
     public ResponseEntity<ApiResponse<CardResponse>> getById(@PathVariable("id") UUID id) {
         return ResponseEntity.ok(
                 ApiResponse.success("Card successfully found", cardService.getById(id))
@@ -38,15 +61,31 @@ public class CardController {
     }
 
     @GetMapping
-    @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<Page<CardResponse>>> getAllPaged(Pageable pageable) {
+    @Authorize(AccessRule.ADMIN)
+    public ResponseEntity<ApiResponse<PagedResponse<CardResponse>>> getAllPaged(
+            Pageable pageable,
+            @RequestParam(value = "count", defaultValue = "EXACT") CountMode countMode) {
+        return ResponseEntity.ok(
+                ApiResponse.success("Page of cards successfully formed", cardService.getAllPaged(pageable, countMode))
+        );
+    }
+
+    // keyset pagination, pass nextCursor of the previous page to get the next one
+    @GetMapping("/scroll")
+    @Authorize(AccessRule.ADMIN)
+    public ResponseEntity<ApiResponse<CursorPageResponse<CardResponse>>> scroll(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @RequestParam(value = "direction", defaultValue = "ASC") Sort.Direction direction) {
         return ResponseEntity.ok(
-                ApiResponse.success("Page of cards successfully formed", cardService.getAllPaged(pageable))
+                ApiResponse.success("Page of cards successfully formed",
+                        cardService.getAllByCursor(cursor, size, sort, direction))
         );
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or @securityService.canAccessCard(authentication.principal, #id)")
+    @Authorize(AccessRule.ADMIN_OR_CARD_OWNER)
     public ResponseEntity<ApiResponse<Void>> delete(@PathVariable("id") UUID id) {
         cardService.delete(id);
         return ResponseEntity.ok(
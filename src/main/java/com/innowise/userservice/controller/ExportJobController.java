@@ -0,0 +1,46 @@
+package com.innowise.userservice.controller;
+
+import com.innowise.userservice.dto.ApiResponse;
+import com.innowise.userservice.dto.ExportJobRequest;
+import com.innowise.userservice.dto.ExportJobResponse;
+import com.innowise.userservice.security.AccessRule;
+import com.innowise.userservice.security.Authorize;
+import com.innowise.userservice.service.ExportJobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/exports")
+@RequiredArgsConstructor
+public class ExportJobController {
+    private final ExportJobService exportJobService;
+
+    @PostMapping
+    @Authorize(AccessRule.ADMIN)
+    public ResponseEntity<ApiResponse<ExportJobResponse>> start(@RequestBody @Valid ExportJobRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(
+                ApiResponse.success("Export job started", exportJobService.start(request))
+        );
+    }
+
+    @GetMapping("/{id}")
+    @Authorize(AccessRule.ADMIN)
+    public ResponseEntity<ApiResponse<ExportJobResponse>> getById(@PathVariable("id") UUID id) {
+        return ResponseEntity.ok(
+                ApiResponse.success("Export job successfully found", exportJobService.getById(id))
+        );
+    }
+
+    @DeleteMapping("/{id}")
+    @Authorize(AccessRule.ADMIN)
+    public ResponseEntity<ApiResponse<ExportJobResponse>> cancel(@PathVariable("id") UUID id) {
+        return ResponseEntity.ok(
+                ApiResponse.success("Export job cancellation requested", exportJobService.cancel(id))
+        );
+    }
+}
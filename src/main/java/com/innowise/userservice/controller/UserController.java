@@ -1,51 +1,144 @@
 package com.innowise.userservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.userservice.bulkload.BulkLoadFormat;
+import com.innowise.userservice.bulkload.BulkLoadTable;
 import com.innowise.userservice.dto.ApiResponse;
+import com.innowise.userservice.dto.BulkLoadReport;
+import com.innowise.userservice.dto.CursorPageResponse;
+import com.innowise.userservice.dto.PagedResponse;
 import com.innowise.userservice.dto.UserCreateRequest;
 import com.innowise.userservice.dto.UserResponse;
 import com.innowise.userservice.dto.UserUpdateRequest;
+import com.innowise.userservice.dto.serialization.UserImportNdjsonReader;
+import com.innowise.userservice.pagination.CountMode;
+import com.innowise.userservice.security.AccessRule;
+import com.innowise.userservice.security.Authorize;
+import com.innowise.userservice.service.BulkLoadService;
+import com.innowise.userservice.service.UserExportService;
+import com.innowise.userservice.service.UserImportService;
 import com.innowise.userservice.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
 @RestController
 @RequestMapping("/api/v1/users")
 @RequiredArgsConstructor
 public class UserController {
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final BulkLoadService bulkLoadService;
+    private final UserExportService userExportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN') or @securityService.canCreateUser(authentication.principal, #request)")
+    @Authorize(AccessRule.ADMIN_OR_CREATING_SELF)
     public ResponseEntity<ApiResponse<UserResponse>> create(@RequestBody @Valid UserCreateRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED).body((
                 ApiResponse.success("User successfully created", userService.create(request))
         ));
     }
 
+    // bulk creation: one UserCreateRequest per line in, one UserImportResult per line out, in the order of the input
+    @PostMapping(value = "/import",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Authorize(AccessRule.ADMIN)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        var rows = new UserImportNdjsonReader(
+                new BufferedReader(new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8)),
+                objectMapper);
+        var out = response.getOutputStream();
+        userImportService.importUsers(rows, result -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(result));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
+    }
+
+    // initial loads from the legacy system, see BulkLoadTable for the expected columns
+    @PostMapping(value = "/bulk-load", consumes = {BulkLoadFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Authorize(AccessRule.ADMIN)
+    public ResponseEntity<ApiResponse<BulkLoadReport>> bulkLoad(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(ApiResponse.success("Users loaded successfully", bulkLoadService.load(
+                BulkLoadTable.USERS, BulkLoadFormat.fromContentType(request.getContentType()), request.getInputStream()
+        )));
+    }
+
+    // whole user base with cards, one UserResponse per line, written while the users are read
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Authorize(AccessRule.ADMIN)
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        var out = response.getOutputStream();
+        userExportService.exportUsers(user -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(user));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        out.flush();
+    }
+
     @GetMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or #userId.toString().equals(authentication.principal)")
+    @Authorize(AccessRule.ADMIN_OR_SELF)
     public ResponseEntity<ApiResponse<UserResponse>> getById(@PathVariable("id") String userId) {
         return ResponseEntity.ok(ApiResponse.success("User successfully found", userService.getByUserId(userId)));
     }
 
     @GetMapping
-    @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<Page<UserResponse>>> getUsers(Pageable pageable) {
+    @Authorize(AccessRule.ADMIN)
+    public ResponseEntity<ApiResponse<PagedResponse<UserResponse>>> getUsers(
+            Pageable pageable,
+            @RequestParam(value = "count", defaultValue = "EXACT") CountMode countMode) {
+        return ResponseEntity.ok(
+                ApiResponse.success("Page of users successfully formed", userService.getAllPaged(pageable, countMode))
+        );
+    }
+
+    // keyset pagination, pass nextCursor of the previous page to get the next one
+    @GetMapping("/scroll")
+    @Authorize(AccessRule.ADMIN)
+    public ResponseEntity<ApiResponse<CursorPageResponse<UserResponse>>> scroll(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "20") @Min(1) @Max(100) int size,
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @RequestParam(value = "direction", defaultValue = "ASC") Sort.Direction direction) {
         return ResponseEntity.ok(
-                ApiResponse.success("Page of users successfully formed", userService.getAllPaged(pageable))
+                ApiResponse.success("Page of users successfully formed",
+                        userService.getAllByCursor(cursor, size, sort, direction))
         );
     }
 
     @GetMapping("/search")
-    @PreAuthorize("hasRole('ADMIN')")
+    @Authorize(AccessRule.ADMIN)
     public ResponseEntity<ApiResponse<UserResponse>> get(
             @RequestParam(value = "email")
             @NotBlank @Email(message = "Please provide correct email address")
@@ -56,7 +149,7 @@ public class UserController {
     }
 
     @PatchMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or #userId.toString().equals(authentication.principal)")
+    @Authorize(AccessRule.ADMIN_OR_SELF)
     public ResponseEntity<ApiResponse<Void>> update(@PathVariable("id") String userId,
                                                     @RequestBody @Valid UserUpdateRequest request) {
         userService.update(userId, request);
@@ -66,7 +159,7 @@ public class UserController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or #userId.toString().equals(authentication.principal)")
+    @Authorize(AccessRule.ADMIN_OR_SELF)
     public ResponseEntity<ApiResponse<Void>> delete(@PathVariable("id") String userId) {
         userService.delete(userId);
         return ResponseEntity.ok(
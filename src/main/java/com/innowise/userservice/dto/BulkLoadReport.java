@@ -0,0 +1,13 @@
+package com.innowise.userservice.dto;
+
+// staged - rows copied into the staging table, skipped - staged rows not inserted (invalid, conflicting, no owner)
+public record BulkLoadReport(
+        String table,
+        long staged,
+        long inserted,
+        long skipped,
+        long copyMillis,
+        long mergeMillis,
+        long rowsPerSecond
+) {
+}
@@ -0,0 +1,12 @@
+package com.innowise.userservice.dto;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record CursorPageResponse<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+}
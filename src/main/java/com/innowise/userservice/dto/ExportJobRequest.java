@@ -0,0 +1,29 @@
+package com.innowise.userservice.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.innowise.userservice.dto.serialization.LocalDateDeserializer;
+import com.innowise.userservice.export.ExportFormat;
+import com.innowise.userservice.export.ExportTarget;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+// created* filter user exports ([from, to)), expires* filter card exports ([from, to]), all optional
+public record ExportJobRequest(
+        @NotNull(message = "Export target is required")
+        ExportTarget target,
+
+        @NotNull(message = "Export format is required")
+        ExportFormat format,
+
+        OffsetDateTime createdFrom,
+        OffsetDateTime createdTo,
+
+        @JsonDeserialize(using = LocalDateDeserializer.class)
+        LocalDate expiresFrom,
+
+        @JsonDeserialize(using = LocalDateDeserializer.class)
+        LocalDate expiresTo
+) {
+}
@@ -0,0 +1,26 @@
+package com.innowise.userservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.innowise.userservice.export.ExportFormat;
+import com.innowise.userservice.export.ExportJobStatus;
+import com.innowise.userservice.export.ExportTarget;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// rowsPerSecond - since the job started, up to now or its end
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ExportJobResponse(
+        UUID id,
+        ExportTarget target,
+        ExportFormat format,
+        ExportJobStatus status,
+        long rowsWritten,
+        long rowsPerSecond,
+        String file,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt,
+        String error
+) {
+}
@@ -0,0 +1,20 @@
+package com.innowise.userservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record JwksResponse(
+        List<Key> keys
+) {
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record Key(
+            String kty,
+            String kid,
+            String alg,
+            String n,
+            String e
+    ) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.innowise.userservice.dto;
+
+import com.innowise.userservice.pagination.CountMode;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+/*
+    Offset page with a total of the kind given by countMode.
+    Carries every field of the Spring Data Page JSON returned before count modes existed
+    (count=EXACT, the default, is exactly that shape plus hasNext and countMode).
+    totalElements and totalPages are null when countMode is NONE.
+ */
+public record PagedResponse<T>(
+        List<T> content,
+        Pageable pageable,
+        boolean last,
+        Long totalElements,
+        Integer totalPages,
+        int size,
+        int number,
+        Sort sort,
+        boolean first,
+        int numberOfElements,
+        boolean empty,
+        boolean hasNext,
+        CountMode countMode
+) {
+    public static <T> PagedResponse<T> exact(Page<T> page) {
+        return of(page, page.getTotalElements(), page.getTotalPages(), CountMode.EXACT);
+    }
+
+    public static <T> PagedResponse<T> withoutTotal(Slice<T> slice) {
+        return of(slice, null, null, CountMode.NONE);
+    }
+
+    /*
+        The last page knows the exact total (offset + its rows). On other pages the estimate is raised
+        to at least one row past this page, a stale estimate must not claim the listing ended.
+        Without statistics (table never analyzed) the page is returned without total.
+     */
+    public static <T> PagedResponse<T> estimated(Slice<T> slice, Long estimate) {
+        var offset = slice.getPageable().isPaged() ? slice.getPageable().getOffset() : 0;
+        var seen = offset + slice.getNumberOfElements();
+        if (!slice.hasNext()) {
+            return withTotal(slice, seen, CountMode.EXACT);
+        }
+        if (estimate == null || estimate < 0) {
+            return withoutTotal(slice);
+        }
+        return withTotal(slice, Math.max(estimate, seen + 1), CountMode.ESTIMATED);
+    }
+
+    private static <T> PagedResponse<T> withTotal(Slice<T> slice, long total, CountMode countMode) {
+        var totalPages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / slice.getSize());
+        return of(slice, total, totalPages, countMode);
+    }
+
+    private static <T> PagedResponse<T> of(Slice<T> slice, Long totalElements, Integer totalPages,
+                                           CountMode countMode) {
+        return new PagedResponse<>(slice.getContent(), slice.getPageable(), slice.isLast(), totalElements,
+                totalPages, slice.getSize(), slice.getNumber(), slice.getSort(), slice.isFirst(),
+                slice.getNumberOfElements(), slice.isEmpty(), slice.hasNext(), countMode);
+    }
+}
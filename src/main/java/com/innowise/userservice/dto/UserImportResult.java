@@ -0,0 +1,12 @@
+package com.innowise.userservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserImportResult(
+        long line,
+        String userId,
+        UserImportStatus status,
+        String message
+) {
+}
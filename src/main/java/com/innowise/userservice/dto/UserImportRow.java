@@ -0,0 +1,16 @@
+package com.innowise.userservice.dto;
+
+// one input row of a bulk import, request is null when the row could not be read
+public record UserImportRow(
+        long line,
+        UserCreateRequest request,
+        String error
+) {
+    public static UserImportRow of(long line, UserCreateRequest request) {
+        return new UserImportRow(line, request, null);
+    }
+
+    public static UserImportRow unreadable(long line, String error) {
+        return new UserImportRow(line, null, error);
+    }
+}
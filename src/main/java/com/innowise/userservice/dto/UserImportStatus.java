@@ -0,0 +1,10 @@
+package com.innowise.userservice.dto;
+
+public enum UserImportStatus {
+    CREATED,
+    // failed validation or could not be read
+    INVALID,
+    // the email or user id exists already, or repeats an earlier row of the same import
+    DUPLICATE,
+    FAILED
+}
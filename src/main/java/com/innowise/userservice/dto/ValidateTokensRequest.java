@@ -0,0 +1,8 @@
+package com.innowise.userservice.dto;
+
+import java.util.List;
+
+public record ValidateTokensRequest(
+        List<String> tokens
+) {
+}
@@ -0,0 +1,49 @@
+package com.innowise.userservice.dto.serialization;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/*
+    CSV rows as PostgreSQL COPY (format csv) reads them: null is an empty unquoted field, any other value
+    is written quoted (toString), so an empty string stays an empty string.
+ */
+public class CsvWriter {
+    private final Writer writer;
+    private boolean rowStarted;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public CsvWriter field(Object value) throws IOException {
+        if (rowStarted) {
+            writer.write(',');
+        }
+        rowStarted = true;
+        if (value != null) {
+            writeQuoted(value.toString());
+        }
+        return this;
+    }
+
+    public void endRow() throws IOException {
+        writer.write('\n');
+        rowStarted = false;
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeQuoted(String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
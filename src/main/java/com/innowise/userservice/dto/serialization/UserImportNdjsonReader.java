@@ -0,0 +1,68 @@
+package com.innowise.userservice.dto.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.innowise.userservice.dto.UserCreateRequest;
+import com.innowise.userservice.dto.UserImportRow;
+import com.innowise.userservice.exception.InvalidDateFormatException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/*
+    Reads an NDJSON body lazily, one UserCreateRequest per line. Blank lines are skipped but still counted,
+    so row numbers match the lines of the input. A line that cannot be read becomes an unreadable row,
+    the rest of the input is still imported.
+ */
+public class UserImportNdjsonReader implements Iterator<UserImportRow> {
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long line;
+    private String next;
+
+    public UserImportNdjsonReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectReader = objectMapper.readerFor(UserCreateRequest.class);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (next == null) {
+                var text = reader.readLine();
+                if (text == null) {
+                    return false;
+                }
+                line++;
+                if (!text.isBlank()) {
+                    next = text;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public UserImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        var text = next;
+        next = null;
+        try {
+            return UserImportRow.of(line, objectReader.readValue(text));
+        } catch (IOException e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof InvalidDateFormatException dateFormatException) {
+                    return UserImportRow.unreadable(line, dateFormatException.getMessage());
+                }
+            }
+            return UserImportRow.unreadable(line, "Invalid request body");
+        }
+    }
+}
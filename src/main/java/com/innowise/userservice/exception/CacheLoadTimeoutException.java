@@ -0,0 +1,9 @@
+package com.innowise.userservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class CacheLoadTimeoutException extends ApiException {
+    public CacheLoadTimeoutException(Object key) {
+        super("Timed out waiting for " + key + " to be loaded. Try again later", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+}
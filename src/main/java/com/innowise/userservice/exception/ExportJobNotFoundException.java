@@ -0,0 +1,11 @@
+package com.innowise.userservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.UUID;
+
+public class ExportJobNotFoundException extends ApiException {
+    public ExportJobNotFoundException(UUID id) {
+        super("Export job " + id + " not found!", HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,9 @@
+package com.innowise.userservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidBulkLoadDataException extends ApiException {
+    public InvalidBulkLoadDataException(String message) {
+        super(message, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,9 @@
+package com.innowise.userservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidCursorException extends ApiException {
+    public InvalidCursorException() {
+        super("Invalid pagination cursor. Start from the first page without cursor", HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,9 @@
+package com.innowise.userservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class InvalidExportRequestException extends ApiException {
+    public InvalidExportRequestException(String message) {
+        super(message, HttpStatus.BAD_REQUEST);
+    }
+}
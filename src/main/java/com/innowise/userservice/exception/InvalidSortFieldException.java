@@ -0,0 +1,11 @@
+package com.innowise.userservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.Collection;
+
+public class InvalidSortFieldException extends ApiException {
+    public InvalidSortFieldException(String field, Collection<String> allowed) {
+        super("Cannot sort by field: " + field + ". Allowed fields: " + String.join(", ", allowed), HttpStatus.BAD_REQUEST);
+    }
+}
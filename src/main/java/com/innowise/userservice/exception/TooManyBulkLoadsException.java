@@ -0,0 +1,9 @@
+package com.innowise.userservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TooManyBulkLoadsException extends ApiException {
+    public TooManyBulkLoadsException() {
+        super("Too many bulk loads in progress, try again later", HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
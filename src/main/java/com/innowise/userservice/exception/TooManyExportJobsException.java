@@ -0,0 +1,9 @@
+package com.innowise.userservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class TooManyExportJobsException extends ApiException {
+    public TooManyExportJobsException() {
+        super("Too many export jobs, try again later", HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
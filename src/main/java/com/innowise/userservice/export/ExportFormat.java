@@ -0,0 +1,14 @@
+package com.innowise.userservice.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// files are always gzip compressed
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+    CSV(".csv.gz"),
+    NDJSON(".ndjson.gz");
+
+    private final String extension;
+}
@@ -0,0 +1,77 @@
+package com.innowise.userservice.export;
+
+import com.innowise.userservice.dto.ExportJobRequest;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+    State of one export job, written by the job thread and read by status requests.
+    A queued job is cancelled right away, a running one only asks its thread to stop (checked after every row).
+ */
+@Getter
+public class ExportJob {
+    private final UUID id;
+    private final ExportJobRequest request;
+    private final Path file;
+    private final Instant createdAt = Instant.now();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicReference<ExportJobStatus> status = new AtomicReference<>(ExportJobStatus.QUEUED);
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private volatile boolean cancelRequested;
+    private volatile Future<?> future;
+
+    public ExportJob(UUID id, ExportJobRequest request, Path file) {
+        this.id = id;
+        this.request = request;
+        this.file = file;
+    }
+
+    public ExportJobStatus getStatus() {
+        return status.get();
+    }
+
+    public long getRows() {
+        return rows.get();
+    }
+
+    public void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    public void rowWritten() {
+        rows.incrementAndGet();
+    }
+
+    // false when the job was cancelled while queued
+    public boolean start() {
+        if (!status.compareAndSet(ExportJobStatus.QUEUED, ExportJobStatus.RUNNING)) {
+            return false;
+        }
+        startedAt = Instant.now();
+        return true;
+    }
+
+    public void cancel() {
+        cancelRequested = true;
+        if (status.compareAndSet(ExportJobStatus.QUEUED, ExportJobStatus.CANCELLED)) {
+            finishedAt = Instant.now();
+            if (future != null) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    public void finish(ExportJobStatus finalStatus, String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        status.set(finalStatus);
+    }
+}
@@ -0,0 +1,16 @@
+package com.innowise.userservice.export;
+
+import com.innowise.userservice.bulkload.BulkLoadTable;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// CSV files use the columns of the bulk load, so an export can be loaded into another instance as is
+@Getter
+@RequiredArgsConstructor
+public enum ExportTarget {
+    USERS("users", BulkLoadTable.USERS),
+    CARDS("cards", BulkLoadTable.CARDS);
+
+    private final String fileName;
+    private final BulkLoadTable bulkLoadTable;
+}
@@ -0,0 +1,78 @@
+package com.innowise.userservice.grpc;
+
+import com.innowise.userservice.security.JwtClaimsExtractor;
+import com.innowise.userservice.security.TokenValidationService;
+import io.grpc.*;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.Set;
+
+/*
+    Authenticates gRPC calls with the bearer token from the "authorization" metadata.
+    Tokens go through the same TokenValidationService as REST requests (validation cache, local verification),
+    the claims of an authenticated call are available to services via CLAIMS.get().
+    Services listed in app.grpc.auth.public-services (health checks, reflection) are not authenticated.
+ */
+@GrpcGlobalServerInterceptor
+@Slf4j
+public class GrpcAuthenticationInterceptor implements ServerInterceptor {
+    public static final Context.Key<JwtClaimsExtractor.JwtClaims> CLAIMS = Context.key("claims");
+
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenValidationService tokenValidationService;
+    private final JwtClaimsExtractor claimsExtractor;
+    private final boolean enabled;
+    private final Set<String> publicServices;
+
+    public GrpcAuthenticationInterceptor(TokenValidationService tokenValidationService,
+                                         JwtClaimsExtractor claimsExtractor,
+                                         @Value("${app.grpc.auth.enabled:true}") boolean enabled,
+                                         @Value("${app.grpc.auth.public-services:grpc.health.v1.Health}") Set<String> publicServices) {
+        this.tokenValidationService = tokenValidationService;
+        this.claimsExtractor = claimsExtractor;
+        this.enabled = enabled;
+        this.publicServices = publicServices;
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call,
+                                                       Metadata headers,
+                                                       ServerCallHandler<Q, R> next) {
+        if (!enabled || publicServices.contains(call.getMethodDescriptor().getServiceName())) {
+            return next.startCall(call, headers);
+        }
+
+        var token = getToken(headers);
+        if (token == null || !tokenValidationService.isValid(token)) {
+            return reject(call, "Missing or invalid bearer token");
+        }
+        var claims = claimsExtractor.extract(token);
+        if (claims == null) {
+            return reject(call, "Token has no subject");
+        }
+
+        log.debug("Authenticated gRPC call {} by user with id {}", call.getMethodDescriptor().getFullMethodName(),
+                claims.subject());
+        return Contexts.interceptCall(Context.current().withValue(CLAIMS, claims), call, headers, next);
+    }
+
+    private static String getToken(Metadata headers) {
+        var authorization = headers.get(AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            return authorization.substring(BEARER_PREFIX.length());
+        }
+        return null;
+    }
+
+    private static <Q, R> ServerCall.Listener<Q> reject(ServerCall<Q, R> call, String description) {
+        log.debug("Rejected gRPC call {}: {}", call.getMethodDescriptor().getFullMethodName(), description);
+        call.close(Status.UNAUTHENTICATED.withDescription(description), new Metadata());
+        return new ServerCall.Listener<>() {
+        };
+    }
+}
@@ -2,32 +2,50 @@ package com.innowise.userservice.grpc;
 
 import com.innowise.userservice.generated.User;
 import com.innowise.userservice.generated.UserServiceGrpc;
+import com.innowise.userservice.dto.UserCreateRequest;
+import com.innowise.userservice.dto.UserImportRow;
+import com.innowise.userservice.exception.AccessDeniedException;
+import com.innowise.userservice.exception.InvalidDateFormatException;
 import com.innowise.userservice.exception.UserAlreadyExistsException;
 import com.innowise.userservice.mapper.UserGrpcMapper;
+import com.innowise.userservice.security.SecurityService;
+import com.innowise.userservice.service.UserImportService;
 import com.innowise.userservice.service.UserService;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @GrpcService
 @RequiredArgsConstructor
 @Slf4j
 public class UserGrpcService extends UserServiceGrpc.UserServiceImplBase {
+    private static final GrantedAuthority ADMIN_AUTHORITY = new SimpleGrantedAuthority("ROLE_ADMIN");
+
     private final UserService userService;
+    private final UserImportService userImportService;
     private final UserGrpcMapper userGrpcMapper;
+    private final SecurityService securityService;
 
     @Override
     public void createUser(User.UserCreateRequest request, StreamObserver<User.UserResponse> responseObserver) {
         log.debug("Received request to create user with id: {}", request.getUserId());
         try {
-            var response = userService.create(
-                    userGrpcMapper.toRequest(request)
-            );
+            var createRequest = userGrpcMapper.toRequest(request);
+            authorize(createRequest);
+            var response = userService.create(createRequest);
             log.debug("User with id {} created successfully", response.userId());
             responseObserver.onNext(userGrpcMapper.toResponse(response));
             responseObserver.onCompleted();
+        } catch (AccessDeniedException e) {
+            log.debug("User creation with id {} denied: {}", request.getUserId(), e.getMessage());
+            responseObserver.onError(Status.PERMISSION_DENIED.withDescription(e.getMessage()).asRuntimeException());
         } catch (UserAlreadyExistsException e) {
             log.debug("User with id {} already exists", request.getUserId());
             var status = Status.ALREADY_EXISTS.withDescription(e.getMessage()).asRuntimeException();
@@ -39,4 +57,96 @@ public class UserGrpcService extends UserServiceGrpc.UserServiceImplBase {
             responseObserver.onError(status);
         }
     }
+
+    /*
+        Requests are collected into chunks of the import service and each chunk is imported as soon as it is full,
+        its results are sent back right away. A failure of a chunk (e.g. the database is down) ends the call.
+     */
+    @Override
+    public StreamObserver<User.UserCreateRequest> importUsers(StreamObserver<User.UserImportResult> responseObserver) {
+        var claims = GrpcAuthenticationInterceptor.CLAIMS.get();
+        if (claims != null && !claims.authorities().contains(ADMIN_AUTHORITY)) {
+            log.debug("User import denied for {}", claims.subject());
+            responseObserver.onError(Status.PERMISSION_DENIED.withDescription("Access denied").asRuntimeException());
+            return new DiscardingObserver<>();
+        }
+
+        return new StreamObserver<>() {
+            private final List<UserImportRow> chunk = new ArrayList<>();
+            private long line;
+            private boolean failed;
+
+            @Override
+            public void onNext(User.UserCreateRequest request) {
+                if (failed) {
+                    return;
+                }
+                line++;
+                try {
+                    chunk.add(UserImportRow.of(line, userGrpcMapper.toRequest(request)));
+                } catch (InvalidDateFormatException e) {
+                    chunk.add(UserImportRow.unreadable(line, e.getMessage()));
+                }
+                if (chunk.size() >= userImportService.getChunkSize()) {
+                    flush();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.debug("User import cancelled by client after {} rows: {}", line, t.getMessage());
+            }
+
+            @Override
+            public void onCompleted() {
+                if (failed) {
+                    return;
+                }
+                flush();
+                if (!failed) {
+                    responseObserver.onCompleted();
+                }
+            }
+
+            private void flush() {
+                if (chunk.isEmpty()) {
+                    return;
+                }
+                try {
+                    userImportService.importChunk(List.copyOf(chunk))
+                            .forEach(result -> responseObserver.onNext(userGrpcMapper.toImportResult(result)));
+                    chunk.clear();
+                } catch (Exception e) {
+                    log.error("Error while importing users", e);
+                    failed = true;
+                    chunk.clear();
+                    responseObserver.onError(Status.UNKNOWN.withDescription("Internal server error").asRuntimeException());
+                }
+            }
+        };
+    }
+
+    // Same rule as REST user creation: admin, or the caller creates a user with their own id.
+    // No claims when gRPC authentication is disabled (app.grpc.auth.enabled)
+    private void authorize(UserCreateRequest request) {
+        var claims = GrpcAuthenticationInterceptor.CLAIMS.get();
+        if (claims == null || claims.authorities().contains(ADMIN_AUTHORITY)) {
+            return;
+        }
+        securityService.canCreateUser(claims.subject(), request);
+    }
+
+    private static class DiscardingObserver<T> implements StreamObserver<T> {
+        @Override
+        public void onNext(T value) {
+        }
+
+        @Override
+        public void onError(Throwable t) {
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+    }
 }
@@ -1,18 +1,36 @@
 package com.innowise.userservice.mapper;
 
+import com.innowise.userservice.dto.CardResponse;
 import com.innowise.userservice.generated.User;
 import com.innowise.userservice.dto.UserCreateRequest;
+import com.innowise.userservice.dto.UserImportResult;
 import com.innowise.userservice.dto.UserResponse;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 
+import java.time.LocalDate;
+import java.util.UUID;
+
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
 public interface UserGrpcMapper {
 
     @Mapping(target = "birthDate", expression = "java(com.innowise.userservice.dto.serialization.LocalDateDeserializer.deserialize(request.getBirthDate()))")
     UserCreateRequest toRequest(User.UserCreateRequest request);
 
+    default User.UserImportResult toImportResult(UserImportResult result) {
+        var builder = User.UserImportResult.newBuilder()
+                .setLine(result.line())
+                .setStatus(User.UserImportStatus.valueOf(result.status().name()));
+        if (result.userId() != null) {
+            builder.setUserId(result.userId());
+        }
+        if (result.message() != null) {
+            builder.setMessage(result.message());
+        }
+        return builder.build();
+    }
+
     default User.UserResponse toResponse(UserResponse response) {
         return User.UserResponse.newBuilder()
                 .setUserId(response.userId())
@@ -22,4 +40,45 @@ public interface UserGrpcMapper {
                 .setEmail(response.email())
                 .build();
     }
+
+    default User.UserResponse toResponseWithCards(UserResponse response) {
+        var builder = toResponse(response).toBuilder();
+        if (response.cards() != null) {
+            response.cards().forEach(card -> builder.addCards(toCardResponse(card)));
+        }
+        return builder.build();
+    }
+
+    default User.CardResponse toCardResponse(CardResponse card) {
+        return User.CardResponse.newBuilder()
+                .setId(card.id().toString())
+                .setUserId(card.userId())
+                .setNumber(card.number())
+                .setHolder(card.holder())
+                .setExpirationDate(card.expirationDate().toString())
+                .build();
+    }
+
+    default UserResponse fromResponse(User.UserResponse response) {
+        return new UserResponse(
+                response.getUserId(),
+                response.getName(),
+                response.getSurname(),
+                LocalDate.parse(response.getBirthDate()),
+                response.getEmail(),
+                response.getCardsList().stream()
+                        .map(this::fromCardResponse)
+                        .toList()
+        );
+    }
+
+    default CardResponse fromCardResponse(User.CardResponse card) {
+        return new CardResponse(
+                UUID.fromString(card.getId()),
+                card.getUserId(),
+                card.getNumber(),
+                card.getHolder(),
+                LocalDate.parse(card.getExpirationDate())
+        );
+    }
 }
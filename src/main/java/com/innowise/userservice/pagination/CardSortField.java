@@ -0,0 +1,26 @@
+package com.innowise.userservice.pagination;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Function;
+
+// indexes: card_info_pkey, idx_card_info_expiration_date_id
+@Getter
+@RequiredArgsConstructor
+public enum CardSortField implements SortField {
+    ID("id", "id", true, UUID::fromString),
+    EXPIRATION_DATE("expirationDate", "expirationDate", false, LocalDate::parse);
+
+    private final String parameter;
+    private final String property;
+    private final boolean unique;
+    private final Function<String, Object> parser;
+
+    @Override
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+}
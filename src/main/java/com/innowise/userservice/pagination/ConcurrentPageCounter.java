@@ -0,0 +1,130 @@
+package com.innowise.userservice.pagination;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/*
+    Builds an exact page while its count query runs concurrently with the content query.
+    The count is started on one of max-threads threads (on its own connection, outside the caller's transaction),
+    the content is read on the calling thread and the two are joined.
+    There's no queue: when every thread is busy, or the connection pool has fewer than min-idle-connections
+    idle connections, the count runs serially after the content, as PageableExecutionUtils would do it.
+    A count started concurrently is not cancelled when the content alone gives the total (a short last page),
+    it just finishes unused.
+ */
+@Component
+@Slf4j
+public class ConcurrentPageCounter {
+    private final boolean enabled;
+    private final int minIdleConnections;
+    private final HikariDataSource hikariDataSource;
+    private final ThreadPoolExecutor executor;
+
+    @Autowired
+    public ConcurrentPageCounter(ObjectProvider<DataSource> dataSource,
+                                 @Value("${app.pagination.concurrent-count.enabled:true}") boolean enabled,
+                                 @Value("${app.pagination.concurrent-count.max-threads:4}") int maxThreads,
+                                 @Value("${app.pagination.concurrent-count.min-idle-connections:2}") int minIdleConnections) {
+        this(enabled, maxThreads, minIdleConnections, unwrapHikari(dataSource.getIfAvailable()));
+    }
+
+    public ConcurrentPageCounter(boolean enabled, int maxThreads, int minIdleConnections, HikariDataSource hikariDataSource) {
+        this.enabled = enabled;
+        this.minIdleConnections = minIdleConnections;
+        this.hikariDataSource = hikariDataSource;
+        if (!enabled) {
+            this.executor = null;
+            return;
+        }
+        var threadFactory = new CustomizableThreadFactory("page-count-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static ConcurrentPageCounter serial() {
+        return new ConcurrentPageCounter(false, 0, 0, null);
+    }
+
+    public <T> Page<T> getPage(Supplier<List<T>> content, Pageable pageable, LongSupplier count) {
+        var total = pageable.isPaged() ? startCount(count) : null;
+        var rows = content.get();
+        if (total == null) {
+            return PageableExecutionUtils.getPage(rows, pageable, count);
+        }
+        return PageableExecutionUtils.getPage(rows, pageable, () -> join(total));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<Long> startCount(LongSupplier count) {
+        if (!enabled || !hasIdleConnections()) {
+            return null;
+        }
+        try {
+            return CompletableFuture.supplyAsync(count::getAsLong, executor);
+        } catch (RejectedExecutionException e) {
+            log.debug("Page count threads are busy, counting serially");
+            return null;
+        }
+    }
+
+    private boolean hasIdleConnections() {
+        if (hikariDataSource == null) {
+            return true;
+        }
+        var pool = hikariDataSource.getHikariPoolMXBean();
+        return pool == null || pool.getIdleConnections() >= minIdleConnections;
+    }
+
+    private static long join(CompletableFuture<Long> total) {
+        try {
+            return total.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            total.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource != null && dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class)
+                    : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
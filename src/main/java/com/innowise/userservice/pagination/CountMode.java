@@ -0,0 +1,13 @@
+package com.innowise.userservice.pagination;
+
+/*
+    How the total of an offset page is obtained:
+    EXACT - count(*) query (full index scan),
+    ESTIMATED - planner statistics of the table (pg_class.reltuples), no count query,
+    NONE - no total at all, only whether the next page exists.
+ */
+public enum CountMode {
+    EXACT,
+    ESTIMATED,
+    NONE
+}
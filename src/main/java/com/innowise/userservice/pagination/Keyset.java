@@ -0,0 +1,23 @@
+package com.innowise.userservice.pagination;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+
+/*
+    Where a keyset page starts: the sort field, its direction and the key of the last row seen
+    (an empty position is the first page). The id breaks ties of a non-unique field, so the order is total.
+ */
+public record Keyset<F extends Enum<F> & SortField>(
+        F field,
+        Sort.Direction direction,
+        KeysetScrollPosition position
+) {
+    public static final String ID = "id";
+
+    public Sort sort() {
+        if (field.isUnique()) {
+            return Sort.by(direction, field.getProperty());
+        }
+        return Sort.by(direction, field.getProperty(), ID);
+    }
+}
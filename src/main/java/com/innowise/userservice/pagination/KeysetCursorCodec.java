@@ -0,0 +1,75 @@
+package com.innowise.userservice.pagination;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.userservice.exception.InvalidCursorException;
+import com.innowise.userservice.exception.InvalidSortFieldException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+
+/*
+    Opaque continuation token of keyset pagination: base64url of {"f": field, "d": direction, "v": last value, "id": last id}.
+    The cursor carries its own sort, so sort parameters are only read for the first page.
+    Tokens are not signed: a forged one can only reposition the caller inside a listing the caller may read anyway.
+ */
+public final class KeysetCursorCodec {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private KeysetCursorCodec() {
+    }
+
+    private record Cursor(String f, Sort.Direction d, String v, String id) {
+    }
+
+    public static <F extends Enum<F> & SortField> Keyset<F> resolve(Class<F> type,
+                                                                     String cursor,
+                                                                     String sort,
+                                                                     Sort.Direction direction) {
+        if (cursor != null && !cursor.isBlank()) {
+            return decode(type, cursor);
+        }
+        var field = SortField.find(type, sort);
+        if (field == null) {
+            throw new InvalidSortFieldException(sort, SortField.parameters(type));
+        }
+        return new Keyset<>(field, direction, ScrollPosition.keyset());
+    }
+
+    public static String encode(Keyset<?> keyset, KeysetScrollPosition last) {
+        var keys = last.getKeys();
+        var id = keys.get(Keyset.ID);
+        var value = keys.get(keyset.field().getProperty());
+        var cursor = new Cursor(keyset.field().getParameter(), keyset.direction(),
+                String.valueOf(value), String.valueOf(id));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(cursor));
+        } catch (Exception e) {
+            throw new IllegalStateException("Cannot encode pagination cursor", e);
+        }
+    }
+
+    static <F extends Enum<F> & SortField> Keyset<F> decode(Class<F> type, String token) {
+        try {
+            var cursor = MAPPER.readValue(Base64.getUrlDecoder().decode(token), Cursor.class);
+            var field = SortField.find(type, cursor.f());
+            if (field == null || cursor.d() == null || cursor.v() == null || cursor.id() == null) {
+                throw new InvalidCursorException();
+            }
+
+            var keys = new LinkedHashMap<String, Object>();
+            if (!Keyset.ID.equals(field.getProperty())) {
+                keys.put(field.getProperty(), field.parse(cursor.v()));
+            }
+            keys.put(Keyset.ID, UUID.fromString(cursor.id()));
+            return new Keyset<>(field, cursor.d(), ScrollPosition.forward(keys));
+        } catch (InvalidCursorException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.innowise.userservice.pagination;
+
+import jakarta.persistence.Query;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+    Helpers for keyset windows read by hand-written queries.
+    The seek is a row value comparison, (u.surname, u.id) > (:value, :id), which PostgreSQL turns into
+    a single range condition on the (field, id) index. The expanded form Spring Data renders for a
+    ScrollPosition, (surname > ?) or (surname = ? and id > ?), is not used as an index bound and makes
+    every window after the first one scan the index from its start.
+    Both keys go in the same direction, so a descending window is a backward scan of the same index.
+    A unique field (the id, the email) is compared alone, u.email > :value, and seeks on its unique index.
+ */
+public final class KeysetWindows {
+    private static final String VALUE = "value";
+
+    private KeysetWindows() {
+    }
+
+    // "where (u.surname, u.id) > (:value, :id)", empty for the first window
+    public static String where(Keyset<?> keyset, String alias) {
+        if (keyset.position().isInitial()) {
+            return "";
+        }
+        var operator = keyset.direction().isAscending() ? " > " : " < ";
+        var id = alias + "." + Keyset.ID;
+        var field = alias + "." + keyset.field().getProperty();
+        if (isIdOnly(keyset)) {
+            return "where " + id + operator + ":" + Keyset.ID;
+        }
+        if (keyset.field().isUnique()) {
+            return "where " + field + operator + ":" + VALUE;
+        }
+        return "where (" + field + ", " + id + ")" + operator + "(:" + VALUE + ", :" + Keyset.ID + ")";
+    }
+
+    // "u.surname desc, u.id desc"
+    public static String orderBy(Keyset<?> keyset, String alias) {
+        var orders = new ArrayList<String>();
+        for (var order : keyset.sort()) {
+            orders.add(alias + "." + order.getProperty() + (order.isAscending() ? " asc" : " desc"));
+        }
+        return String.join(", ", orders);
+    }
+
+    public static void bind(Query query, Keyset<?> keyset) {
+        if (keyset.position().isInitial()) {
+            return;
+        }
+        var keys = keyset.position().getKeys();
+        if (isIdOnly(keyset) || !keyset.field().isUnique()) {
+            query.setParameter(Keyset.ID, keys.get(Keyset.ID));
+        }
+        if (!isIdOnly(keyset)) {
+            query.setParameter(VALUE, keys.get(keyset.field().getProperty()));
+        }
+    }
+
+    // rows are read with one extra row past the window (see limit), its presence means there's a next window
+    public static int limit(int size) {
+        return size + 1;
+    }
+
+    // the id stays in the position of a unique field as well, cursors always carry it
+    public static <T> Window<T> window(List<T> rows, int size, Keyset<?> keyset,
+                                       Function<T, Object> value, Function<T, Object> id) {
+        var hasNext = rows.size() > size;
+        var content = hasNext ? rows.subList(0, size) : rows;
+        return Window.from(content, index -> {
+            var row = content.get(index);
+            Map<String, Object> keys = new LinkedHashMap<>();
+            if (!isIdOnly(keyset)) {
+                keys.put(keyset.field().getProperty(), value.apply(row));
+            }
+            keys.put(Keyset.ID, id.apply(row));
+            return ScrollPosition.forward(keys);
+        }, hasNext);
+    }
+
+    private static boolean isIdOnly(Keyset<?> keyset) {
+        return Keyset.ID.equals(keyset.field().getProperty());
+    }
+}
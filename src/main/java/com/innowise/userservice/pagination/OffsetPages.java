@@ -0,0 +1,55 @@
+package com.innowise.userservice.pagination;
+
+import com.innowise.userservice.exception.InvalidSortFieldException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    Helpers for offset pages that are fetched together with their associations by hand-written queries.
+    Any mapped attribute of the entity may be sorted by, but only the names the repository lists are accepted
+    (they are rendered into the query text). These are wider than the keyset sort fields, which need an index to seek.
+    The id is appended as the last order so rows with equal keys keep their place between pages.
+ */
+public final class OffsetPages {
+    private OffsetPages() {
+    }
+
+    // "u.surname desc, u.id asc"
+    public static String orderBy(List<String> properties, Sort sort, String alias) {
+        var orders = new ArrayList<String>();
+        for (var order : sort) {
+            var property = order.getProperty();
+            if (!properties.contains(property)) {
+                throw new InvalidSortFieldException(property, properties);
+            }
+            orders.add(alias + "." + property + (order.isAscending() ? " asc" : " desc"));
+            if (Keyset.ID.equals(property)) {
+                // the id is unique, orders after it never apply
+                return String.join(", ", orders);
+            }
+        }
+        orders.add(alias + "." + Keyset.ID + " asc");
+        return String.join(", ", orders);
+    }
+
+    // rows are read with one extra row past the page, its presence means there's a next page
+    public static int limit(Pageable pageable) {
+        return pageable.getPageSize() + 1;
+    }
+
+    public static int offset(Pageable pageable) {
+        return Math.toIntExact(pageable.getOffset());
+    }
+
+    public static <T> Slice<T> slice(List<T> rows, Pageable pageable) {
+        if (pageable.isUnpaged() || rows.size() <= pageable.getPageSize()) {
+            return new SliceImpl<>(rows, pageable, false);
+        }
+        return new SliceImpl<>(rows.subList(0, pageable.getPageSize()), pageable, true);
+    }
+}
@@ -0,0 +1,37 @@
+package com.innowise.userservice.pagination;
+
+import java.util.Arrays;
+import java.util.List;
+
+/*
+    A field keyset pagination may sort by. Every sort field must be backed by an index on (field, id),
+    a unique field by its own unique index.
+ */
+public interface SortField {
+    // request parameter value, e.g. "surname"
+    String getParameter();
+
+    // entity attribute
+    String getProperty();
+
+    // unique values need no id to break ties, the seek and the order use the field alone
+    boolean isUnique();
+
+    // restores a cursor value to the attribute type
+    Object parse(String value);
+
+    static <F extends Enum<F> & SortField> F find(Class<F> type, String parameter) {
+        for (var field : type.getEnumConstants()) {
+            if (field.getParameter().equals(parameter)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    static <F extends Enum<F> & SortField> List<String> parameters(Class<F> type) {
+        return Arrays.stream(type.getEnumConstants())
+                .map(SortField::getParameter)
+                .toList();
+    }
+}
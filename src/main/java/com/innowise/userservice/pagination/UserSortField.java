@@ -0,0 +1,28 @@
+package com.innowise.userservice.pagination;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.function.Function;
+
+// indexes: users_pkey, users_email_key, idx_users_surname_id, idx_users_birth_date_id
+@Getter
+@RequiredArgsConstructor
+public enum UserSortField implements SortField {
+    ID("id", "id", true, UUID::fromString),
+    EMAIL("email", "email", true, value -> value),
+    SURNAME("surname", "surname", false, value -> value),
+    BIRTH_DATE("birthDate", "birthDate", false, LocalDate::parse);
+
+    private final String parameter;
+    private final String property;
+    private final boolean unique;
+    private final Function<String, Object> parser;
+
+    @Override
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+}
@@ -0,0 +1,16 @@
+package com.innowise.userservice.repository;
+
+import com.innowise.userservice.entity.Card;
+import com.innowise.userservice.pagination.CardSortField;
+import com.innowise.userservice.pagination.Keyset;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+public interface CardPageRepository {
+    // one page of cards with their owners in the requested order, read in a single query
+    Slice<Card> findSliceWithUsers(Pageable pageable);
+
+    // keyset window of cards with their owners, seeks past the key of the keyset instead of skipping rows
+    Window<Card> findWindow(Keyset<CardSortField> keyset, int size);
+}
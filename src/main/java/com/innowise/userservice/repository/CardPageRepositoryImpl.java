@@ -0,0 +1,52 @@
+package com.innowise.userservice.repository;
+
+import com.innowise.userservice.entity.Card;
+import com.innowise.userservice.pagination.CardSortField;
+import com.innowise.userservice.pagination.Keyset;
+import com.innowise.userservice.pagination.KeysetWindows;
+import com.innowise.userservice.pagination.OffsetPages;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+
+// the owner is a to-one association, so the join fetch does not multiply rows and pages and windows are limited in SQL
+public class CardPageRepositoryImpl implements CardPageRepository {
+    // attributes an offset page may be sorted by, keyset windows only accept CardSortField
+    private static final List<String> SORT_PROPERTIES = List.of("id", "number", "holder", "expirationDate");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<Card> findSliceWithUsers(Pageable pageable) {
+        var query = entityManager.createQuery(
+                "select c from Card c join fetch c.user order by "
+                        + OffsetPages.orderBy(SORT_PROPERTIES, pageable.getSort(), "c"),
+                Card.class);
+        if (pageable.isPaged()) {
+            query.setFirstResult(OffsetPages.offset(pageable))
+                    .setMaxResults(OffsetPages.limit(pageable));
+        }
+        return OffsetPages.slice(query.getResultList(), pageable);
+    }
+
+    @Override
+    public Window<Card> findWindow(Keyset<CardSortField> keyset, int size) {
+        var query = entityManager.createQuery("select c from Card c join fetch c.user %s order by %s".formatted(
+                KeysetWindows.where(keyset, "c"), KeysetWindows.orderBy(keyset, "c")), Card.class);
+        KeysetWindows.bind(query, keyset);
+        var cards = query.setMaxResults(KeysetWindows.limit(size)).getResultList();
+        return KeysetWindows.window(cards, size, keyset, card -> value(keyset.field(), card), Card::getId);
+    }
+
+    private static Object value(CardSortField field, Card card) {
+        return switch (field) {
+            case ID -> card.getId();
+            case EXPIRATION_DATE -> card.getExpirationDate();
+        };
+    }
+}
@@ -1,25 +1,27 @@
 package com.innowise.userservice.repository;
 
 import com.innowise.userservice.entity.Card;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface CardRepository extends JpaRepository<Card, UUID> {
+public interface CardRepository extends JpaRepository<Card, UUID>, CardPageRepository {
 
     boolean existsByNumber(String number);
 
+    // ids of the cards of a user, read before the user is deleted to evict their owner cache entries
+    @Query("select c.id from Card c where c.user.userId = :userId")
+    List<UUID> findCardIdsByUserId(String userId);
+
     // redundant methods only to follow the task requirements
 
+    @EntityGraph(attributePaths = {"user"})
     @Query("from Card c where c.id = :id")
     Optional<Card> findCardById(UUID id);
 
@@ -38,10 +40,7 @@ public interface CardRepository extends JpaRepository<Card, UUID> {
             """)
     void delete(UUID id);
 
-    @Query("select c.id from Card c")
-    Page<UUID> findCardIds(Pageable pageable);
-
-    @EntityGraph(attributePaths = {"user"})
-    @Query("select c from Card c where c.id in :ids")
-    List<Card> findAllWithUsersByIds(@Param("ids") List<UUID> ids);
+    // planner estimate of the row count, -1 if the table has never been analyzed
+    @Query(value = "select cast(reltuples as bigint) from pg_class where oid = to_regclass('card_info')", nativeQuery = true)
+    Long estimateCount();
 }
@@ -0,0 +1,16 @@
+package com.innowise.userservice.repository;
+
+import com.innowise.userservice.entity.User;
+import com.innowise.userservice.pagination.Keyset;
+import com.innowise.userservice.pagination.UserSortField;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+public interface UserPageRepository {
+    // one page of users with their cards in the requested order, read in a single query
+    Slice<User> findSliceWithCards(Pageable pageable);
+
+    // keyset window of users without cards, seeks past the key of the keyset instead of skipping rows
+    Window<User> findWindow(Keyset<UserSortField> keyset, int size);
+}
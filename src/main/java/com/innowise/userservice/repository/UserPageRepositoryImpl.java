@@ -0,0 +1,68 @@
+package com.innowise.userservice.repository;
+
+import com.innowise.userservice.entity.User;
+import com.innowise.userservice.pagination.Keyset;
+import com.innowise.userservice.pagination.KeysetWindows;
+import com.innowise.userservice.pagination.OffsetPages;
+import com.innowise.userservice.pagination.UserSortField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+
+/*
+    A collection fetch cannot be limited in SQL, so the page is cut by an id subquery with its own order and limit,
+    and the outer query fetches the cards of these ids and repeats the order.
+    Both orders end with the id, so the outer one returns the users exactly in the order of the page.
+    Keyset windows are read without cards, see KeysetWindows for the seek.
+ */
+public class UserPageRepositoryImpl implements UserPageRepository {
+    // attributes an offset page may be sorted by, keyset windows only accept UserSortField
+    private static final List<String> SORT_PROPERTIES = List.of("id", "userId", "name", "surname", "birthDate", "email");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<User> findSliceWithCards(Pageable pageable) {
+        var orderBy = OffsetPages.orderBy(SORT_PROPERTIES, pageable.getSort(), "u");
+        if (pageable.isUnpaged()) {
+            var users = entityManager.createQuery(
+                            "select u from User u left join fetch u.cards order by " + orderBy, User.class)
+                    .getResultList();
+            return OffsetPages.slice(users, pageable);
+        }
+
+        var users = entityManager.createQuery("""
+                        select u from User u left join fetch u.cards
+                        where u.id in (select p.id from User p order by %s limit :limit offset :offset)
+                        order by %s
+                        """.formatted(OffsetPages.orderBy(SORT_PROPERTIES, pageable.getSort(), "p"), orderBy),
+                        User.class)
+                .setParameter("limit", OffsetPages.limit(pageable))
+                .setParameter("offset", OffsetPages.offset(pageable))
+                .getResultList();
+        return OffsetPages.slice(users, pageable);
+    }
+
+    @Override
+    public Window<User> findWindow(Keyset<UserSortField> keyset, int size) {
+        var query = entityManager.createQuery("select u from User u %s order by %s".formatted(
+                KeysetWindows.where(keyset, "u"), KeysetWindows.orderBy(keyset, "u")), User.class);
+        KeysetWindows.bind(query, keyset);
+        var users = query.setMaxResults(KeysetWindows.limit(size)).getResultList();
+        return KeysetWindows.window(users, size, keyset, user -> value(keyset.field(), user), User::getId);
+    }
+
+    private static Object value(UserSortField field, User user) {
+        return switch (field) {
+            case ID -> user.getId();
+            case EMAIL -> user.getEmail();
+            case SURNAME -> user.getSurname();
+            case BIRTH_DATE -> user.getBirthDate();
+        };
+    }
+}
@@ -1,8 +1,6 @@
 package com.innowise.userservice.repository;
 
 import com.innowise.userservice.entity.User;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -10,24 +8,45 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserPageRepository {
     Optional<User> findUserByEmail(String email);
 
+    @EntityGraph(attributePaths = {"cards"})
+    @Query("from User u where u.email = :email")
+    Optional<User> findWithCardsByEmail(String email);
+
+    @EntityGraph(attributePaths = {"cards"})
+    @Query("from User u where u.userId = :userId")
+    Optional<User> findWithCardsByUserId(String userId);
+
     boolean existsByEmail(String email);
 
-    /*
-        There's no way to use pageable with entity graph (we need to resolve n+1)
-        So we get user ids firstly and then fetch users with cards
-     */
+    // bulk import pre-check: the users of a chunk that collide by email or user id, in one query
+    @Query("select u.email as email, u.userId as userId from User u where u.email in :emails or u.userId in :userIds")
+    List<UserKeys> findKeysByEmailInOrUserIdIn(@Param("emails") Collection<String> emails,
+                                               @Param("userIds") Collection<String> userIds);
+
+    interface UserKeys {
+        String getEmail();
+
+        String getUserId();
+    }
 
-    @Query("select u.id from User u")
-    Page<UUID> findUserIds(Pageable pageable);
+    // planner estimate of the row count, -1 if the table has never been analyzed
+    @Query(value = "select cast(reltuples as bigint) from pg_class where oid = to_regclass('users')", nativeQuery = true)
+    Long estimateCount();
 
+    /*
+        Offset pages are read by UserPageRepository, this one serves keyset windows read without cards.
+        The id list is padded to the next power of two (hibernate.query.in_clause_parameter_padding),
+        so windows of any size share a few SQL strings and their prepared statements.
+     */
     @EntityGraph(attributePaths = {"cards"})
     @Query("select u from User u where u.id in :ids")
     List<User> findAllWithCardsByIds(@Param("ids") List<UUID> ids);
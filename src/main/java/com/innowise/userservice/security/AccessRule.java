@@ -0,0 +1,25 @@
+package com.innowise.userservice.security;
+
+import com.innowise.userservice.dto.CardCreateRequest;
+import com.innowise.userservice.dto.UserCreateRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+
+/*
+    Authorization rules for @Authorize. ADMIN passes every rule.
+    targetType is the type of the method argument the rule checks, the method must have exactly one of it.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum AccessRule {
+    ADMIN(null),
+    // the String argument is the caller's own userId
+    ADMIN_OR_SELF(String.class),
+    ADMIN_OR_CREATING_SELF(UserCreateRequest.class),
+    ADMIN_OR_CREATING_OWN_CARD(CardCreateRequest.class),
+    ADMIN_OR_CARD_OWNER(UUID.class);
+
+    private final Class<?> targetType;
+}
@@ -0,0 +1,132 @@
+package com.innowise.userservice.security;
+
+import com.innowise.userservice.dto.CardCreateRequest;
+import com.innowise.userservice.dto.UserCreateRequest;
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/*
+    Checks @Authorize rules without expression evaluation.
+    Each method is compiled once into its rule and the index of the checked argument.
+    The rules of all beans are compiled at startup, so a rule without its argument fails the boot, not the first call.
+    The rules keep the semantics of the former @PreAuthorize expressions:
+    hasRole('ADMIN') or a comparison with the authenticated principal (the caller's userId),
+    SecurityService checks still throw their own AccessDeniedException.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessRuleAuthorizationManager implements AuthorizationManager<MethodInvocation>,
+        SmartInitializingSingleton {
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final SecurityService securityService;
+    private final ListableBeanFactory beanFactory;
+    private final ConcurrentMap<Method, CompiledRule> compiledRules = new ConcurrentHashMap<>();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (var beanName : beanFactory.getBeanDefinitionNames()) {
+            var beanType = beanFactory.getType(beanName, false);
+            if (beanType == null) {
+                continue;
+            }
+            MethodIntrospector.selectMethods(ClassUtils.getUserClass(beanType),
+                            (ReflectionUtils.MethodFilter) method -> AnnotatedElementUtils.hasAnnotation(method, Authorize.class))
+                    .forEach(method -> compiledRules.computeIfAbsent(method, AccessRuleAuthorizationManager::compile));
+        }
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        return decide(authentication, invocation);
+    }
+
+    @Deprecated
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        return decide(authentication, invocation);
+    }
+
+    // methods of beans created after startup (or outside the context) are compiled on their first call
+    private AuthorizationDecision decide(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        var rule = compiledRules.computeIfAbsent(invocation.getMethod(), AccessRuleAuthorizationManager::compile);
+        var currentAuthentication = authentication.get();
+        if (currentAuthentication == null) {
+            return DENIED;
+        }
+        if (isAdmin(currentAuthentication)) {
+            return GRANTED;
+        }
+
+        var userId = currentAuthentication.getPrincipal() instanceof String principal ? principal : null;
+        var argument = rule.argumentIndex() < 0 ? null : invocation.getArguments()[rule.argumentIndex()];
+        var granted = switch (rule.accessRule()) {
+            case ADMIN -> false;
+            case ADMIN_OR_SELF -> userId != null && userId.equals(argument);
+            case ADMIN_OR_CREATING_SELF -> securityService.canCreateUser(userId, (UserCreateRequest) argument);
+            case ADMIN_OR_CREATING_OWN_CARD -> securityService.canCreateCard(userId, (CardCreateRequest) argument);
+            case ADMIN_OR_CARD_OWNER -> securityService.canAccessCard(userId, (UUID) argument);
+        };
+        return granted ? GRANTED : DENIED;
+    }
+
+    static CompiledRule compile(Method method) {
+        var authorize = AnnotatedElementUtils.findMergedAnnotation(method, Authorize.class);
+        if (authorize == null) {
+            throw new IllegalStateException("Method " + method + " is not annotated with @Authorize");
+        }
+        var targetType = authorize.value().getTargetType();
+        if (targetType == null) {
+            return new CompiledRule(authorize.value(), -1);
+        }
+
+        var argumentIndex = -1;
+        var parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i] == targetType) {
+                if (argumentIndex >= 0) {
+                    throw new IllegalStateException("Method " + method + " has more than one "
+                            + targetType.getSimpleName() + " argument for rule " + authorize.value());
+                }
+                argumentIndex = i;
+            }
+        }
+        if (argumentIndex < 0) {
+            throw new IllegalStateException("Method " + method + " has no "
+                    + targetType.getSimpleName() + " argument for rule " + authorize.value());
+        }
+        return new CompiledRule(authorize.value(), argumentIndex);
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (ADMIN_AUTHORITY.equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    record CompiledRule(AccessRule accessRule, int argumentIndex) {
+    }
+}
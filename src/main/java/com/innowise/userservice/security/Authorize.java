@@ -0,0 +1,13 @@
+package com.innowise.userservice.security;
+
+import java.lang.annotation.*;
+
+/*
+    Typed replacement for @PreAuthorize expressions, checked by AccessRuleAuthorizationManager.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Authorize {
+    AccessRule value();
+}
@@ -0,0 +1,90 @@
+package com.innowise.userservice.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/*
+    Reads the claims JwtFilter needs (sub and role) in one pass over the token payload.
+    Only the payload segment is decoded, the header and signature are not touched,
+    so the token must already be validated. Parsing stops as soon as both claims are found.
+    Authority lists are shared per role; roles come from a small fixed set,
+    anything beyond MAX_CACHED_ROLES gets a fresh list.
+ */
+@Component
+public class JwtClaimsExtractor {
+    private static final int MAX_CACHED_ROLES = 16;
+    private static final String SUBJECT_CLAIM = "sub";
+    private static final String ROLE_CLAIM = "role";
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final ConcurrentMap<String, List<GrantedAuthority>> authoritiesByRole = new ConcurrentHashMap<>();
+
+    // null when the token is malformed or has no subject
+    public JwtClaims extract(String token) {
+        var payloadStart = token.indexOf('.') + 1;
+        var payloadEnd = token.indexOf('.', payloadStart);
+        if (payloadStart == 0 || payloadEnd < 0) {
+            return null;
+        }
+
+        try (var parser = jsonFactory.createParser(
+                Base64.getUrlDecoder().decode(token.substring(payloadStart, payloadEnd)))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            String subject = null;
+            String role = null;
+            while ((subject == null || role == null) && parser.nextToken() == JsonToken.FIELD_NAME) {
+                var name = parser.currentName();
+                parser.nextToken();
+                if (SUBJECT_CLAIM.equals(name)) {
+                    subject = stringValue(parser);
+                } else if (ROLE_CLAIM.equals(name)) {
+                    role = stringValue(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return subject == null ? null : new JwtClaims(subject, role, authorities(role));
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private List<GrantedAuthority> authorities(String role) {
+        if (role == null || role.isEmpty()) {
+            return List.of();
+        }
+        var authorities = authoritiesByRole.get(role);
+        if (authorities != null) {
+            return authorities;
+        }
+        authorities = List.of(new SimpleGrantedAuthority(role));
+        if (authoritiesByRole.size() < MAX_CACHED_ROLES) {
+            var existing = authoritiesByRole.putIfAbsent(role, authorities);
+            return existing != null ? existing : authorities;
+        }
+        return authorities;
+    }
+
+    private static String stringValue(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    public record JwtClaims(String subject, String role, List<GrantedAuthority> authorities) {
+    }
+}
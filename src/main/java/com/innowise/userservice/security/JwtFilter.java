@@ -1,8 +1,5 @@
 package com.innowise.userservice.security;
 
-import com.auth0.jwt.JWT;
-import com.innowise.userservice.client.AuthServiceClient;
-import com.innowise.userservice.dto.ValidateTokenRequest;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,19 +8,18 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtFilter extends OncePerRequestFilter {
-    private final AuthServiceClient authServiceClient;
+    private final TokenValidationService tokenValidationService;
+    private final JwtClaimsExtractor claimsExtractor;
 
     @Override
     public void doFilterInternal(@NonNull HttpServletRequest request,
@@ -33,7 +29,7 @@ public class JwtFilter extends OncePerRequestFilter {
         String token = getTokenFromRequest(request);
         log.debug("Token fetched from request");
         if (token != null) {
-            if (validateToken(token)) {
+            if (tokenValidationService.isValid(token)) {
                 log.debug("Token is valid. Setting authentication");
                 setAuthentication(token);
             }
@@ -49,36 +45,20 @@ public class JwtFilter extends OncePerRequestFilter {
         return null;
     }
 
-    private boolean validateToken(String token) {
-        try {
-            var response = authServiceClient.validate(new ValidateTokenRequest(token));
-            log.debug("Received response from Auth Service: {}", response);
-            return response != null && response.getData() != null && response.getData().equals(true);
-        } catch (Exception e) {
-            log.error("Error while validating token", e);
-        }
-        return false;
-    }
-
-    private String getRole(String token) {
-        return JWT.decode(token).getClaim("role").asString();
-    }
-
-    private String getId(String token) {
-        return JWT.decode(token).getSubject();
-    }
-
     private void setAuthentication(String token) {
-        var id = getId(token);
-        var role = getRole(token);
+        var claims = claimsExtractor.extract(token);
+        if (claims == null) {
+            log.debug("Token has no readable subject. Skipping authentication");
+            return;
+        }
 
         SecurityContextHolder.getContext().setAuthentication(
                 new UsernamePasswordAuthenticationToken(
-                        id,
+                        claims.subject(),
                         null,
-                        List.of(new SimpleGrantedAuthority(role))
+                        claims.authorities()
                 )
         );
-        log.debug("Authenticated user with id {}. Role: {}", id, role);
+        log.debug("Authenticated user with id {}. Role: {}", claims.subject(), claims.role());
     }
 }
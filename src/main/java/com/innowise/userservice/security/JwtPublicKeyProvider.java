@@ -0,0 +1,127 @@
+package com.innowise.userservice.security;
+
+import com.auth0.jwt.interfaces.RSAKeyProvider;
+import com.innowise.userservice.client.AuthServiceClient;
+import com.innowise.userservice.dto.JwksResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+    Public keys for local token verification.
+    Keys come either from a static PEM file (app.security.jwt.public-key-location)
+    or from the auth-service JWKS document, which is refetched periodically.
+    In REMOTE mode keys are loaded only as a fallback for an unavailable auth-service (local-fallback).
+    A failed refresh keeps the previously loaded keys.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class JwtPublicKeyProvider implements RSAKeyProvider {
+    private static final String DEFAULT_KEY_ID = "default";
+
+    private final AuthServiceClient authServiceClient;
+    private final ResourceLoader resourceLoader;
+
+    @Value("${app.security.token-validation.mode:remote}")
+    private TokenValidationMode mode;
+
+    @Value("${app.security.token-validation.local-fallback:false}")
+    private boolean localFallback;
+
+    @Value("${app.security.jwt.public-key-location:}")
+    private String publicKeyLocation;
+
+    private volatile Map<String, RSAPublicKey> keys = Map.of();
+
+    @Scheduled(fixedDelayString = "${app.security.jwt.jwks-refresh-interval:300000}")
+    public void refresh() {
+        if (mode != TokenValidationMode.LOCAL && !localFallback) {
+            return;
+        }
+
+        try {
+            var loadedKeys = publicKeyLocation.isBlank() ? fetchJwks() : readPublicKeyFile();
+            if (loadedKeys.isEmpty()) {
+                log.warn("No RSA public keys found for local token verification");
+                return;
+            }
+            keys = loadedKeys;
+            log.debug("Loaded {} public key(s) for local token verification", loadedKeys.size());
+        } catch (Exception e) {
+            log.warn("Cannot load public keys for local token verification, keeping {} loaded key(s)",
+                    keys.size(), e);
+        }
+    }
+
+    // Tokens without kid are accepted when exactly one key is known (e.g. a static key file)
+    @Override
+    public RSAPublicKey getPublicKeyById(String keyId) {
+        var currentKeys = keys;
+        if (keyId == null) {
+            return currentKeys.size() == 1 ? currentKeys.values().iterator().next() : null;
+        }
+        return currentKeys.get(keyId);
+    }
+
+    @Override
+    public RSAPrivateKey getPrivateKey() {
+        return null;
+    }
+
+    @Override
+    public String getPrivateKeyId() {
+        return null;
+    }
+
+    private Map<String, RSAPublicKey> fetchJwks() throws GeneralSecurityException {
+        var jwks = authServiceClient.getJwks();
+        var loadedKeys = new HashMap<String, RSAPublicKey>();
+        if (jwks == null || jwks.keys() == null) {
+            return loadedKeys;
+        }
+        var keyFactory = KeyFactory.getInstance("RSA");
+        var decoder = Base64.getUrlDecoder();
+        for (JwksResponse.Key key : jwks.keys()) {
+            if (!"RSA".equals(key.kty()) || key.n() == null || key.e() == null) {
+                continue;
+            }
+            var spec = new RSAPublicKeySpec(
+                    new BigInteger(1, decoder.decode(key.n())),
+                    new BigInteger(1, decoder.decode(key.e()))
+            );
+            loadedKeys.put(key.kid() != null ? key.kid() : DEFAULT_KEY_ID,
+                    (RSAPublicKey) keyFactory.generatePublic(spec));
+        }
+        return loadedKeys;
+    }
+
+    private Map<String, RSAPublicKey> readPublicKeyFile() throws IOException, GeneralSecurityException {
+        String pem;
+        try (var inputStream = resourceLoader.getResource(publicKeyLocation).getInputStream()) {
+            pem = new String(inputStream.readAllBytes(), StandardCharsets.US_ASCII);
+        }
+        var encoded = pem
+                .replace("-----BEGIN PUBLIC KEY-----", "")
+                .replace("-----END PUBLIC KEY-----", "")
+                .replaceAll("\\s", "");
+        var spec = new X509EncodedKeySpec(Base64.getDecoder().decode(encoded));
+        return Map.of(DEFAULT_KEY_ID, (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(spec));
+    }
+}
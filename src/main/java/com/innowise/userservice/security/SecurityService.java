@@ -1,20 +1,25 @@
 package com.innowise.userservice.security;
 
+import com.innowise.userservice.cache.CacheNames;
 import com.innowise.userservice.dto.CardCreateRequest;
 import com.innowise.userservice.dto.UserCreateRequest;
 import com.innowise.userservice.exception.AccessDeniedException;
-import com.innowise.userservice.repository.CardRepository;
+import com.innowise.userservice.service.CardLookup;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Service("securityService")
 @RequiredArgsConstructor
 @Slf4j
 public class SecurityService {
-    private final CardRepository cardRepository;
+    private final CardLookup cardLookup;
+    private final CacheManager cacheManager;
 
     public boolean canCreateUser(String userId, UserCreateRequest request) {
         log.debug("Authorizing user creation with id {} by user with id {}", request != null ? request.userId() : "null", userId);
@@ -38,9 +43,31 @@ public class SecurityService {
             throw new AccessDeniedException("You do not have rights to access this card");
         }
 
-        return cardRepository.findCardById(cardId)
-                .filter(card -> card.getUser().getUserId().equals(userId))
-                .map(card -> true)
-                .orElseThrow(() -> new AccessDeniedException("You do not have rights to access this card"));
+        if (userId.equals(getCardOwnerUserId(cardId))) {
+            return true;
+        }
+        throw new AccessDeniedException("You do not have rights to access this card");
+    }
+
+    // Only the owner's userId is cached; on a miss the card is loaded through CardLookup,
+    // so the card service reuses it within the same request
+    private String getCardOwnerUserId(UUID cardId) {
+        var cache = cacheManager.getCache(CacheNames.CARD_OWNER_CACHE);
+        if (cache == null) {
+            return findOwnerUserId(cardId).orElse(null);
+        }
+        try {
+            return cache.get(cardId.toString(), () -> findOwnerUserId(cardId)
+                    .orElseThrow(() -> new AccessDeniedException("You do not have rights to access this card")));
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof AccessDeniedException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Optional<String> findOwnerUserId(UUID cardId) {
+        return cardLookup.findById(cardId).map(card -> card.getUser().getUserId());
     }
 }
@@ -0,0 +1,171 @@
+package com.innowise.userservice.security;
+
+import com.innowise.userservice.client.AuthServiceClient;
+import com.innowise.userservice.dto.ValidateTokensRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/*
+    Collects concurrent remote token validations into batch requests to auth-service.
+    A batch is sent when max-size tokens are queued or max-delay has passed since the first of them,
+    each waiting caller then gets the result for its own token.
+    Batches are sent by max-concurrent-batches threads through the "auth-service" circuit breaker;
+    a failed batch fails every token in it. Results are futures that fail after wait-timeout.
+    Disabled by default (app.security.token-validation.batch.enabled).
+ */
+@Component
+@Slf4j
+public class TokenValidationBatcher {
+    private final AuthServiceClient authServiceClient;
+    private final CircuitBreaker authServiceCircuitBreaker;
+    @Getter
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration maxDelay;
+    private final Duration waitTimeout;
+    private final BlockingQueue<PendingValidation> queue;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizeSummary;
+    private final Thread collector;
+    private final ExecutorService senders;
+
+    public TokenValidationBatcher(AuthServiceClient authServiceClient,
+                                  CircuitBreakerFactory<?, ?> circuitBreakerFactory,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.security.token-validation.batch.enabled:false}") boolean enabled,
+                                  @Value("${app.security.token-validation.batch.max-size:100}") int maxBatchSize,
+                                  @Value("${app.security.token-validation.batch.max-delay:5}") long maxDelay,
+                                  @Value("${app.security.token-validation.batch.max-concurrent-batches:4}") int maxConcurrentBatches,
+                                  @Value("${app.security.token-validation.batch.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${app.security.token-validation.batch.wait-timeout:2000}") long waitTimeout) {
+        this.authServiceClient = authServiceClient;
+        this.authServiceCircuitBreaker = circuitBreakerFactory.create(TokenValidationService.AUTH_SERVICE);
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = Duration.ofMillis(maxDelay);
+        this.waitTimeout = Duration.ofMillis(waitTimeout);
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.batchTimer = Timer.builder("auth.token.validation.batch")
+                .description("Latency of batch token validation calls to auth-service")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("auth.token.validation.batch.size")
+                .description("Tokens per batch validation call to auth-service")
+                .register(meterRegistry);
+
+        if (!enabled) {
+            this.collector = null;
+            this.senders = null;
+            return;
+        }
+        var threadFactory = new CustomizableThreadFactory("token-validation-batch-");
+        threadFactory.setDaemon(true);
+        this.senders = Executors.newFixedThreadPool(maxConcurrentBatches, threadFactory);
+        this.collector = threadFactory.newThread(this::collect);
+        this.collector.start();
+    }
+
+    /*
+        Does not block: the returned future completes when the batch with the token is answered,
+        or fails after wait-timeout (a timed out token is skipped if its batch has not been sent yet).
+     */
+    public CompletableFuture<Boolean> validate(String token) {
+        if (!enabled) {
+            throw new IllegalStateException("Batch token validation is disabled");
+        }
+        var pending = new PendingValidation(token, new CompletableFuture<>());
+        if (!queue.offer(pending)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Batch token validation queue is full"));
+        }
+        return pending.result().orTimeout(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        collector.interrupt();
+        senders.shutdown();
+        var rejected = new IllegalStateException("Batch token validation is shut down");
+        PendingValidation pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(rejected);
+        }
+    }
+
+    private void collect() {
+        while (!Thread.currentThread().isInterrupted()) {
+            var batch = new ArrayList<PendingValidation>(maxBatchSize);
+            try {
+                batch.add(queue.take());
+                var deadline = System.nanoTime() + maxDelay.toNanos();
+                queue.drainTo(batch, maxBatchSize - batch.size());
+                while (batch.size() < maxBatchSize) {
+                    var next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!batch.isEmpty()) {
+                dispatch(batch);
+            }
+        }
+    }
+
+    private void dispatch(List<PendingValidation> batch) {
+        try {
+            senders.execute(() -> send(batch));
+        } catch (RejectedExecutionException e) {
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    private void send(List<PendingValidation> batch) {
+        var pendingBatch = batch.stream()
+                .filter(pending -> !pending.result().isDone())
+                .toList();
+        if (pendingBatch.isEmpty()) {
+            return;
+        }
+
+        try {
+            var tokens = pendingBatch.stream().map(PendingValidation::token).toList();
+            batchSizeSummary.record(tokens.size());
+            var response = authServiceCircuitBreaker.run(() -> batchTimer.record(
+                    () -> authServiceClient.validateBatch(new ValidateTokensRequest(tokens))));
+            var results = response != null ? response.getData() : null;
+            if (results == null || results.size() != tokens.size()) {
+                throw new IllegalStateException("Auth Service returned %s results for %d tokens"
+                        .formatted(results == null ? "no" : results.size(), tokens.size()));
+            }
+            log.debug("Validated batch of {} tokens with Auth Service", tokens.size());
+            for (int i = 0; i < pendingBatch.size(); i++) {
+                pendingBatch.get(i).result().complete(Boolean.TRUE.equals(results.get(i)));
+            }
+        } catch (Exception e) {
+            pendingBatch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    private record PendingValidation(String token, CompletableFuture<Boolean> result) {
+    }
+}
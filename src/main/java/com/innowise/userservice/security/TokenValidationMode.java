@@ -0,0 +1,8 @@
+package com.innowise.userservice.security;
+
+public enum TokenValidationMode {
+    // every token is validated by auth-service (results are cached)
+    REMOTE,
+    // signature and expiry are verified with auth-service public keys, auth-service is used only without keys
+    LOCAL
+}
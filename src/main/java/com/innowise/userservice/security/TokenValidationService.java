@@ -0,0 +1,228 @@
+package com.innowise.userservice.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.innowise.userservice.client.AuthServiceClient;
+import com.innowise.userservice.dto.ValidateTokenRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreaker;
+import org.springframework.cloud.client.circuitbreaker.CircuitBreakerFactory;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+
+/*
+    Remembers auth-service answers, so a token is validated remotely once and not on every request.
+    Valid tokens are kept until their exp claim (capped by max-time-to-live),
+    rejected tokens only for negative-time-to-live (0 disables negative caching).
+    Failed remote calls are never cached.
+    There is no revocation hook: a token revoked in auth-service stays accepted here for up to max-time-to-live
+    (locally verified tokens in LOCAL mode until their exp claim), lower it to shorten that window.
+    Tokens are keyed by their SHA-256 hash, so raw tokens are not kept in memory.
+    The cache holds futures: a remote validation runs outside the cache's compute (in the calling thread,
+    or in the batcher), concurrent requests with the same token wait for the same future.
+    In LOCAL mode tokens are verified with auth-service public keys instead,
+    auth-service is asked only while no key for the token is loaded.
+    Remote calls go through the "auth-service" circuit breaker and bulkhead (see resilience4j.* properties).
+    With batching enabled, concurrent remote validations are sent together by TokenValidationBatcher.
+    When auth-service is unavailable, the token is verified locally if a key is loaded, otherwise rejected.
+ */
+@Service
+@Slf4j
+public class TokenValidationService {
+    private static final String CACHE_NAME = "token_validation";
+    static final String AUTH_SERVICE = "auth-service";
+
+    private final AuthServiceClient authServiceClient;
+    private final CircuitBreaker authServiceCircuitBreaker;
+    private final TokenValidationBatcher batcher;
+    private final JwtPublicKeyProvider publicKeyProvider;
+    private final TokenValidationMode mode;
+    private final JWTVerifier localVerifier;
+    private final AsyncCache<String, Validation> validationCache;
+    private final Timer remoteValidationTimer;
+    private final Counter localValidCounter;
+    private final Counter localInvalidCounter;
+    private final Duration maxTimeToLive;
+    private final Duration negativeTimeToLive;
+
+    public TokenValidationService(AuthServiceClient authServiceClient,
+                                  CircuitBreakerFactory<?, ?> circuitBreakerFactory,
+                                  JwtPublicKeyProvider publicKeyProvider,
+                                  TokenValidationBatcher batcher,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.security.token-validation.mode:remote}") TokenValidationMode mode,
+                                  @Value("${app.security.token-cache.maximum-size:10000}") long maximumSize,
+                                  @Value("${app.security.token-cache.max-time-to-live:300}") long maxTimeToLive,
+                                  @Value("${app.security.token-cache.negative-time-to-live:0}") long negativeTimeToLive) {
+        this.authServiceClient = authServiceClient;
+        this.authServiceCircuitBreaker = circuitBreakerFactory.create(AUTH_SERVICE);
+        this.publicKeyProvider = publicKeyProvider;
+        this.batcher = batcher;
+        this.mode = mode;
+        this.localVerifier = JWT.require(Algorithm.RSA256(publicKeyProvider)).build();
+        this.maxTimeToLive = Duration.ofSeconds(maxTimeToLive);
+        this.negativeTimeToLive = Duration.ofSeconds(negativeTimeToLive);
+        this.validationCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ValidationExpiry())
+                .recordStats()
+                .buildAsync();
+        this.remoteValidationTimer = Timer.builder("auth.token.validation.remote")
+                .description("Latency of token validation calls to auth-service")
+                .register(meterRegistry);
+        this.localValidCounter = localValidationCounter(meterRegistry, "valid");
+        this.localInvalidCounter = localValidationCounter(meterRegistry, "invalid");
+        CaffeineCacheMetrics.monitor(meterRegistry, validationCache.synchronous(), CACHE_NAME);
+    }
+
+    public boolean isValid(String token) {
+        if (mode == TokenValidationMode.LOCAL) {
+            var locallyValid = verifyWithLoadedKey(token);
+            if (locallyValid != null) {
+                return locallyValid;
+            }
+        }
+
+        try {
+            return validation(token).join().valid();
+        } catch (Exception e) {
+            log.warn("Cannot validate token with auth-service: {}", e.toString());
+        }
+        var locallyValid = verifyWithLoadedKey(token);
+        return locallyValid != null && locallyValid;
+    }
+
+    // null when no key for the token is loaded: keys are not fetched yet or were rotated since the last refresh
+    private Boolean verifyWithLoadedKey(String token) {
+        DecodedJWT decodedToken;
+        try {
+            decodedToken = JWT.decode(token);
+        } catch (JWTDecodeException e) {
+            localInvalidCounter.increment();
+            return false;
+        }
+        if (publicKeyProvider.getPublicKeyById(decodedToken.getKeyId()) == null) {
+            return null;
+        }
+        return verifyLocally(decodedToken);
+    }
+
+    private boolean verifyLocally(DecodedJWT token) {
+        try {
+            localVerifier.verify(token);
+            localValidCounter.increment();
+            return true;
+        } catch (JWTVerificationException e) {
+            log.debug("Token rejected by local verification: {}", e.getMessage());
+            localInvalidCounter.increment();
+            return false;
+        }
+    }
+
+    // failed futures are removed from the cache by Caffeine, so failed remote calls are not cached
+    private CompletableFuture<Validation> validation(String token) {
+        var key = hash(token);
+        if (batcher.isEnabled()) {
+            return validationCache.get(key, (k, executor) -> batcher.validate(token)
+                    .thenApply(valid -> toValidation(token, valid)));
+        }
+
+        var cached = validationCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        var loading = new CompletableFuture<Validation>();
+        var existing = validationCache.asMap().putIfAbsent(key, loading);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            loading.complete(toValidation(token, validateSingle(token)));
+        } catch (Exception e) {
+            loading.completeExceptionally(e);
+        }
+        return loading;
+    }
+
+    private Validation toValidation(String token, boolean valid) {
+        return new Validation(valid, valid ? positiveTimeToLive(token) : negativeTimeToLive);
+    }
+
+    private boolean validateSingle(String token) {
+        var response = authServiceCircuitBreaker.run(() -> remoteValidationTimer.record(
+                () -> authServiceClient.validate(new ValidateTokenRequest(token))));
+        log.debug("Received response from Auth Service: {}", response);
+        return response != null && response.getData() != null && response.getData().equals(true);
+    }
+
+    private Duration positiveTimeToLive(String token) {
+        try {
+            var expiresAt = JWT.decode(token).getExpiresAtAsInstant();
+            if (expiresAt == null) {
+                return maxTimeToLive;
+            }
+            var untilExpiration = Duration.between(Instant.now(), expiresAt);
+            if (untilExpiration.isNegative()) {
+                return Duration.ZERO;
+            }
+            return untilExpiration.compareTo(maxTimeToLive) < 0 ? untilExpiration : maxTimeToLive;
+        } catch (JWTDecodeException e) {
+            return Duration.ZERO;
+        }
+    }
+
+    private static Counter localValidationCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("auth.token.validation.local")
+                .description("Tokens verified locally with auth-service public keys")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String hash(String token) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Validation(boolean valid, Duration timeToLive) {
+    }
+
+    private static class ValidationExpiry implements Expiry<String, Validation> {
+        @Override
+        public long expireAfterCreate(String key, Validation value, long currentTime) {
+            return value.timeToLive().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Validation value, long currentTime, long currentDuration) {
+            return value.timeToLive().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, Validation value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.innowise.userservice.service;
+
+import com.innowise.userservice.bulkload.BulkLoadFormat;
+import com.innowise.userservice.bulkload.BulkLoadTable;
+import com.innowise.userservice.dto.BulkLoadReport;
+
+import java.io.InputStream;
+
+public interface BulkLoadService {
+    // the whole input is loaded in one transaction, nothing is inserted if the input is malformed
+    BulkLoadReport load(BulkLoadTable table, BulkLoadFormat format, InputStream input);
+}
@@ -0,0 +1,11 @@
+package com.innowise.userservice.service;
+
+import com.innowise.userservice.dto.CardResponse;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+public interface CardExportService {
+    // cards expiring in [expiresFrom, expiresTo], a null bound is not applied; returns the number of cards
+    long exportCards(LocalDate expiresFrom, LocalDate expiresTo, Consumer<CardResponse> sink);
+}
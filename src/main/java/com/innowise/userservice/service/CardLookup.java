@@ -0,0 +1,55 @@
+package com.innowise.userservice.service;
+
+import com.innowise.userservice.entity.Card;
+import com.innowise.userservice.repository.CardRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+    Card reads memoized for the current HTTP request, so authorization (SecurityService)
+    and the card service share one select per card instead of loading it again.
+    Missing cards are remembered too. Outside of a request (gRPC, scheduled jobs) every call hits the repository.
+ */
+@Component
+@RequiredArgsConstructor
+public class CardLookup {
+    private static final String MEMO_ATTRIBUTE = CardLookup.class.getName() + ".memo";
+
+    private final CardRepository cardRepository;
+
+    public Optional<Card> findById(UUID id) {
+        var memo = currentMemo();
+        if (memo == null) {
+            return cardRepository.findCardById(id);
+        }
+        return memo.computeIfAbsent(id, cardRepository::findCardById);
+    }
+
+    public void evict(UUID id) {
+        var memo = currentMemo();
+        if (memo != null) {
+            memo.remove(id);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<UUID, Optional<Card>> currentMemo() {
+        var attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        var memo = (Map<UUID, Optional<Card>>) attributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+            memo = new HashMap<>();
+            attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+    }
+}
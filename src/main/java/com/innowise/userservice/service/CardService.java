@@ -2,9 +2,13 @@ package com.innowise.userservice.service;
 
 import com.innowise.userservice.dto.CardCreateRequest;
 import com.innowise.userservice.dto.CardResponse;
+import com.innowise.userservice.dto.CursorPageResponse;
+import com.innowise.userservice.dto.PagedResponse;
+import com.innowise.userservice.pagination.CountMode;
 import jakarta.transaction.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.UUID;
 
@@ -15,6 +19,10 @@ public interface CardService {
 
     Page<CardResponse> getAllPaged(Pageable pageable);
 
+    PagedResponse<CardResponse> getAllPaged(Pageable pageable, CountMode countMode);
+
+    CursorPageResponse<CardResponse> getAllByCursor(String cursor, int size, String sort, Sort.Direction direction);
+
     @Transactional
     void delete(UUID id);
 }
@@ -0,0 +1,15 @@
+package com.innowise.userservice.service;
+
+import com.innowise.userservice.dto.ExportJobRequest;
+import com.innowise.userservice.dto.ExportJobResponse;
+
+import java.util.UUID;
+
+public interface ExportJobService {
+    ExportJobResponse start(ExportJobRequest request);
+
+    ExportJobResponse getById(UUID id);
+
+    // a running job stops after its current row, the response may still show it as running
+    ExportJobResponse cancel(UUID id);
+}
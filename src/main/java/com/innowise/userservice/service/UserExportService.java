@@ -0,0 +1,18 @@
+package com.innowise.userservice.service;
+
+import com.innowise.userservice.dto.UserResponse;
+
+import java.time.OffsetDateTime;
+import java.util.function.Consumer;
+
+public interface UserExportService {
+    // every user with cards, passed to the sink one by one while reading, returns the number of users
+    long exportUsers(Consumer<UserResponse> sink);
+
+    /*
+        Only users created in [createdFrom, createdTo), a null bound is not applied.
+        Without cards card_info is not read at all and every user has an empty card list.
+     */
+    long exportUsers(OffsetDateTime createdFrom, OffsetDateTime createdTo, boolean withCards,
+                     Consumer<UserResponse> sink);
+}
@@ -0,0 +1,18 @@
+package com.innowise.userservice.service;
+
+import com.innowise.userservice.dto.UserImportResult;
+import com.innowise.userservice.dto.UserImportRow;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface UserImportService {
+    // reads rows in chunks of getChunkSize(), results are passed to the sink in row order as chunks complete
+    void importUsers(Iterator<UserImportRow> rows, Consumer<UserImportResult> sink);
+
+    // one result per row, in row order
+    List<UserImportResult> importChunk(List<UserImportRow> rows);
+
+    int getChunkSize();
+}
@@ -1,11 +1,15 @@
 package com.innowise.userservice.service;
 
+import com.innowise.userservice.dto.CursorPageResponse;
+import com.innowise.userservice.dto.PagedResponse;
 import com.innowise.userservice.dto.UserCreateRequest;
 import com.innowise.userservice.dto.UserResponse;
 import com.innowise.userservice.dto.UserUpdateRequest;
 import com.innowise.userservice.entity.User;
+import com.innowise.userservice.pagination.CountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
 public interface UserService {
@@ -13,13 +17,16 @@ public interface UserService {
 
     User getEntityByUserId(String userId);
 
-    @Transactional(readOnly = true)
     UserResponse getByUserId(String userId);
 
     UserResponse getByEmail(String email);
 
     Page<UserResponse> getAllPaged(Pageable pageable);
 
+    PagedResponse<UserResponse> getAllPaged(Pageable pageable, CountMode countMode);
+
+    CursorPageResponse<UserResponse> getAllByCursor(String cursor, int size, String sort, Sort.Direction direction);
+
     @Transactional
     void update(String userId, UserUpdateRequest request);
 
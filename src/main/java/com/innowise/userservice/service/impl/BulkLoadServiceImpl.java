@@ -0,0 +1,221 @@
+package com.innowise.userservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.userservice.bulkload.BulkLoadFormat;
+import com.innowise.userservice.bulkload.BulkLoadTable;
+import com.innowise.userservice.bulkload.NdjsonCsvTranscoder;
+import com.innowise.userservice.cache.CacheNames;
+import com.innowise.userservice.dto.BulkLoadReport;
+import com.innowise.userservice.exception.InvalidBulkLoadDataException;
+import com.innowise.userservice.exception.TooManyBulkLoadsException;
+import com.innowise.userservice.service.BulkLoadService;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.postgresql.util.PSQLException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.function.LongConsumer;
+
+/*
+    Initial loads from the legacy system. The input is streamed through COPY FROM STDIN into a staging table
+    and merged into the target with one insert .. select, all on one plain JDBC connection and in one transaction,
+    so no entity is created and memory does not grow with the input. Progress is logged every
+    app.bulk-load.progress-interval rows.
+    A load holds a pooled connection and an open transaction for the whole upload, so at most
+    max-concurrent-loads run at once (further ones are rejected with 429), and the transaction sets
+    statement-timeout (which covers the COPY, so a stalled or slow upload is cut off) and
+    idle-in-transaction-timeout, both local to the transaction and reset when the connection returns to the pool.
+ */
+@Service
+@Slf4j
+public class BulkLoadServiceImpl implements BulkLoadService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+    private final long progressInterval;
+    private final long statementTimeout;
+    private final long idleInTransactionTimeout;
+    private final Semaphore permits;
+
+    public BulkLoadServiceImpl(DataSource dataSource,
+                               ObjectMapper objectMapper,
+                               CacheManager cacheManager,
+                               @Value("${app.bulk-load.progress-interval:1000000}") long progressInterval,
+                               @Value("${app.bulk-load.max-concurrent-loads:1}") int maxConcurrentLoads,
+                               @Value("${app.bulk-load.statement-timeout:600000}") long statementTimeout,
+                               @Value("${app.bulk-load.idle-in-transaction-timeout:60000}") long idleInTransactionTimeout) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.cacheManager = cacheManager;
+        this.progressInterval = progressInterval;
+        this.statementTimeout = statementTimeout;
+        this.idleInTransactionTimeout = idleInTransactionTimeout;
+        this.permits = new Semaphore(maxConcurrentLoads);
+    }
+
+    @Override
+    public BulkLoadReport load(BulkLoadTable table, BulkLoadFormat format, InputStream input) {
+        if (!permits.tryAcquire()) {
+            throw new TooManyBulkLoadsException();
+        }
+        try {
+            return loadInTransaction(table, format, input);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private BulkLoadReport loadInTransaction(BulkLoadTable table, BulkLoadFormat format, InputStream input) {
+        var start = System.nanoTime();
+        try (var connection = dataSource.getConnection()) {
+            var autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                try (var statement = connection.createStatement()) {
+                    statement.execute("set local statement_timeout = " + statementTimeout);
+                    statement.execute("set local idle_in_transaction_session_timeout = " + idleInTransactionTimeout);
+                }
+                var report = load(connection, table, format, input, start);
+                connection.commit();
+                log.info("Bulk load into {} finished: {}", table.getTable(), report);
+                // cached users carry their cards
+                if (table == BulkLoadTable.CARDS && report.inserted() > 0) {
+                    var cache = cacheManager.getCache(CacheNames.USER_CACHE);
+                    if (cache != null) {
+                        cache.clear();
+                    }
+                }
+                return report;
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException | IOException e) {
+            throw translate(e);
+        }
+    }
+
+    private BulkLoadReport load(Connection connection,
+                                BulkLoadTable table,
+                                BulkLoadFormat format,
+                                InputStream input,
+                                long start) throws SQLException, IOException {
+        try (var statement = connection.createStatement()) {
+            statement.execute(table.getStagingDdl());
+        }
+
+        var copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class),
+                table.copySql(format == BulkLoadFormat.CSV), BUFFER_SIZE);
+        var progress = new Progress(table, start);
+        long staged;
+        try {
+            if (format == BulkLoadFormat.CSV) {
+                copyCsv(input, copy, progress);
+            } else {
+                new NdjsonCsvTranscoder(objectMapper, table.getFields()).transcode(
+                        new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE),
+                        new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), BUFFER_SIZE),
+                        progress);
+            }
+            staged = copy.endCopy();
+        } catch (IOException | RuntimeException e) {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+            throw e;
+        }
+        var copyMillis = millisSince(start);
+
+        var mergeStart = System.nanoTime();
+        long inserted;
+        try (var statement = connection.createStatement()) {
+            // temporary tables are not analyzed by autovacuum, the merge plan needs the row count
+            statement.execute("analyze " + table.getStagingTable());
+            inserted = statement.executeLargeUpdate(table.getMergeSql());
+        }
+
+        var totalMillis = millisSince(start);
+        return new BulkLoadReport(table.getTable(), staged, inserted, staged - inserted,
+                copyMillis, millisSince(mergeStart), staged * 1000 / Math.max(totalMillis, 1));
+    }
+
+    // passed to COPY as is, only line breaks are counted for the progress log
+    private static void copyCsv(InputStream input, PGCopyOutputStream copy, LongConsumer progress) throws IOException {
+        var buffer = new byte[BUFFER_SIZE];
+        long lines = 0;
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    lines++;
+                }
+            }
+            copy.write(buffer, 0, read);
+            progress.accept(lines);
+        }
+    }
+
+    /*
+        Malformed input is reported by the server as a data exception (class 22) with the line and column
+        of the staging COPY, that is returned to the caller. Anything else is a server side failure.
+     */
+    private static RuntimeException translate(Exception e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PSQLException psqlException
+                    && psqlException.getSQLState() != null
+                    && psqlException.getSQLState().startsWith("22")) {
+                var serverError = psqlException.getServerErrorMessage();
+                return new InvalidBulkLoadDataException(serverError != null && serverError.getWhere() != null
+                        ? serverError.getMessage() + " (" + serverError.getWhere() + ")"
+                        : psqlException.getMessage());
+            }
+        }
+        return e instanceof IOException ioException
+                ? new UncheckedIOException(ioException)
+                : new IllegalStateException("Bulk load failed", e);
+    }
+
+    private static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private final class Progress implements LongConsumer {
+        private final BulkLoadTable table;
+        private final long start;
+        private long next = progressInterval;
+
+        private Progress(BulkLoadTable table, long start) {
+            this.table = table;
+            this.start = start;
+        }
+
+        @Override
+        public void accept(long rows) {
+            if (rows < next) {
+                return;
+            }
+            log.info("Bulk load into {}: {} rows copied, {} rows/s",
+                    table.getTable(), rows, rows * 1000 / Math.max(millisSince(start), 1));
+            next = (rows / progressInterval + 1) * progressInterval;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.innowise.userservice.service.impl;
+
+import com.innowise.userservice.dto.CardResponse;
+import com.innowise.userservice.service.CardExportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Read the same way as the user export (UserExportServiceImpl): one query through a server side cursor
+@Service
+public class CardExportServiceImpl implements CardExportService {
+    // ordered along idx_card_info_expiration_date_id, which also serves the expiration range
+    private static final String CARDS = """
+            select c.id, u.user_id, c.number, c.holder, c.expiration_date
+            from card_info c
+            join users u on u.id = c.user_id
+            %s
+            order by c.expiration_date, c.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CardExportServiceImpl(DataSource dataSource,
+                                 @Value("${app.cards.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCards(LocalDate expiresFrom, LocalDate expiresTo, Consumer<CardResponse> sink) {
+        var conditions = new ArrayList<String>();
+        var args = new ArrayList<Object>();
+        if (expiresFrom != null) {
+            conditions.add("c.expiration_date >= ?");
+            args.add(expiresFrom);
+        }
+        if (expiresTo != null) {
+            conditions.add("c.expiration_date <= ?");
+            args.add(expiresTo);
+        }
+        var where = conditions.isEmpty() ? "" : "where " + String.join(" and ", conditions);
+
+        var cards = new AtomicLong();
+        jdbcTemplate.query(CARDS.formatted(where), rs -> {
+            sink.accept(new CardResponse(
+                    rs.getObject("id", UUID.class),
+                    rs.getString("user_id"),
+                    rs.getString("number"),
+                    rs.getString("holder"),
+                    rs.getObject("expiration_date", LocalDate.class)
+            ));
+            cards.incrementAndGet();
+        }, args.toArray());
+        return cards.get();
+    }
+}
@@ -1,17 +1,29 @@
 package com.innowise.userservice.service.impl;
 
+import com.innowise.userservice.cache.AfterCommit;
+import com.innowise.userservice.cache.CacheNames;
 import com.innowise.userservice.dto.CardCreateRequest;
 import com.innowise.userservice.dto.CardResponse;
+import com.innowise.userservice.dto.CursorPageResponse;
+import com.innowise.userservice.dto.PagedResponse;
 import com.innowise.userservice.exception.CardNotFoundException;
 import com.innowise.userservice.exception.CardNumberAlreadyExistsException;
 import com.innowise.userservice.mapper.CardMapper;
+import com.innowise.userservice.pagination.CardSortField;
+import com.innowise.userservice.pagination.ConcurrentPageCounter;
+import com.innowise.userservice.pagination.CountMode;
+import com.innowise.userservice.pagination.KeysetCursorCodec;
 import com.innowise.userservice.repository.CardRepository;
+import com.innowise.userservice.service.CardLookup;
 import com.innowise.userservice.service.CardService;
 import com.innowise.userservice.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +35,9 @@ public class CardServiceImpl implements CardService {
     private final UserService userService;
     private final CardRepository cardRepository;
     private final CardMapper cardMapper;
+    private final CacheManager cacheManager;
+    private final CardLookup cardLookup;
+    private final ConcurrentPageCounter pageCounter;
 
     @Override
     public CardResponse create(CardCreateRequest request) {
@@ -35,34 +50,65 @@ public class CardServiceImpl implements CardService {
         card.setUser(user);
         cardRepository.save(card);
         userService.evictUserCache(user);
+        var ownerCache = cacheManager.getCache(CacheNames.CARD_OWNER_CACHE);
+        if (ownerCache != null) {
+            ownerCache.put(card.getId().toString(), user.getUserId());
+        }
         return cardMapper.toResponse(card);
     }
 
     @Override
     public CardResponse getById(UUID id) {
-        return cardRepository.findCardById(id)
+        return cardLookup.findById(id)
                 .map(cardMapper::toResponse)
                 .orElseThrow(() -> new CardNotFoundException(id));
     }
 
     @Override
     public Page<CardResponse> getAllPaged(Pageable pageable) {
-        var ids = cardRepository.findCardIds(pageable);
-        var cards = cardRepository.findAllWithUsersByIds(ids.getContent())
-                .stream()
-                .map(cardMapper::toResponse)
-                .toList();
-        return new PageImpl<>(cards, pageable, ids.getTotalElements());
+        return pageCounter.getPage(() -> findSlice(pageable).getContent(), pageable, cardRepository::count);
+    }
+
+    @Override
+    public PagedResponse<CardResponse> getAllPaged(Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return PagedResponse.exact(getAllPaged(pageable));
+        }
+
+        var slice = findSlice(pageable);
+        return countMode == CountMode.ESTIMATED
+                ? PagedResponse.estimated(slice, slice.hasNext() ? cardRepository.estimateCount() : null)
+                : PagedResponse.withoutTotal(slice);
+    }
+
+    private Slice<CardResponse> findSlice(Pageable pageable) {
+        return cardRepository.findSliceWithUsers(pageable).map(cardMapper::toResponse);
+    }
+
+    @Override
+    public CursorPageResponse<CardResponse> getAllByCursor(String cursor, int size, String sort, Sort.Direction direction) {
+        var keyset = KeysetCursorCodec.resolve(CardSortField.class, cursor, sort, direction);
+        var window = cardRepository.findWindow(keyset, size);
+        var cards = window.getContent().stream().map(cardMapper::toResponse).toList();
+        var nextCursor = window.hasNext()
+                ? KeysetCursorCodec.encode(keyset, (KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
+        return new CursorPageResponse<>(cards, cards.size(), window.hasNext(), nextCursor);
     }
 
     @Override
     @Transactional
     public void delete(UUID id) {
-        cardRepository.findCardById(id)
+        cardLookup.findById(id)
                 .ifPresentOrElse(
                         card -> {
                             cardRepository.delete(id);
+                            cardLookup.evict(id);
                             userService.evictUserCache(card.getUser());
+                            var ownerCache = cacheManager.getCache(CacheNames.CARD_OWNER_CACHE);
+                            if (ownerCache != null) {
+                                AfterCommit.run(() -> ownerCache.evict(id.toString()));
+                            }
                         },
                         () -> {
                             throw new CardNotFoundException(id);
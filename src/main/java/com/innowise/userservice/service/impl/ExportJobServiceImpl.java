@@ -0,0 +1,316 @@
+package com.innowise.userservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.userservice.dto.CardResponse;
+import com.innowise.userservice.dto.ExportJobRequest;
+import com.innowise.userservice.dto.ExportJobResponse;
+import com.innowise.userservice.dto.UserResponse;
+import com.innowise.userservice.dto.serialization.CsvWriter;
+import com.innowise.userservice.exception.ExportJobNotFoundException;
+import com.innowise.userservice.exception.InvalidExportRequestException;
+import com.innowise.userservice.exception.TooManyExportJobsException;
+import com.innowise.userservice.export.ExportFormat;
+import com.innowise.userservice.export.ExportJob;
+import com.innowise.userservice.export.ExportJobStatus;
+import com.innowise.userservice.export.ExportTarget;
+import com.innowise.userservice.service.CardExportService;
+import com.innowise.userservice.service.ExportJobService;
+import com.innowise.userservice.service.UserExportService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/*
+    Exports run on at most max-concurrent-jobs threads, further jobs wait in a queue of queue-capacity
+    and are rejected beyond it. Every running job holds one database connection for its whole duration,
+    so the cap also bounds how much of the pool exports can take from online requests.
+    A job streams rows from the export services into <directory>/<target>-<id>.<format>.gz, written through
+    a FileChannel with buffered gzip on top, and renames the file into place once complete (a partial file
+    is never visible under the final name and is deleted on cancel or failure).
+    Jobs are kept in memory of the instance that runs them. Every cleanup-interval finished jobs older than
+    retention are dropped together with their files, and so are files left in the directory by earlier runs.
+    Only files named like exports are swept, and never those of jobs this instance still knows.
+ */
+@Service
+@Slf4j
+public class ExportJobServiceImpl implements ExportJobService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String PART_SUFFIX = ".part";
+    // <target>-<id><extension>[.part]
+    private static final Pattern EXPORT_FILE = Pattern.compile("(?:%s)-(%s)(?:%s)(?:%s)?".formatted(
+            Arrays.stream(ExportTarget.values()).map(target -> Pattern.quote(target.getFileName()))
+                    .collect(Collectors.joining("|")),
+            "[0-9a-f]{8}(?:-[0-9a-f]{4}){3}-[0-9a-f]{12}",
+            Arrays.stream(ExportFormat.values()).map(format -> Pattern.quote(format.getExtension()))
+                    .collect(Collectors.joining("|")),
+            Pattern.quote(PART_SUFFIX)));
+
+    private final UserExportService userExportService;
+    private final CardExportService cardExportService;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final Duration retention;
+    private final ThreadPoolExecutor executor;
+    private final Map<UUID, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    public ExportJobServiceImpl(UserExportService userExportService,
+                                CardExportService cardExportService,
+                                ObjectMapper objectMapper,
+                                @Value("${app.export.directory:${java.io.tmpdir}/user-service-exports}") String directory,
+                                @Value("${app.export.max-concurrent-jobs:2}") int maxConcurrentJobs,
+                                @Value("${app.export.queue-capacity:10}") int queueCapacity,
+                                @Value("${app.export.retention:86400}") long retention) {
+        this.userExportService = userExportService;
+        this.cardExportService = cardExportService;
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(directory);
+        this.retention = Duration.ofSeconds(retention);
+        var threadFactory = new CustomizableThreadFactory("export-job-");
+        threadFactory.setDaemon(true);
+        this.executor = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public ExportJobResponse start(ExportJobRequest request) {
+        validate(request);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        var id = UUID.randomUUID();
+        var job = new ExportJob(id, request,
+                directory.resolve(request.target().getFileName() + "-" + id + request.format().getExtension()));
+        jobs.put(id, job);
+        try {
+            job.setFuture(executor.submit(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(id);
+            throw new TooManyExportJobsException();
+        }
+        log.info("Export job {} queued: {}", id, request);
+        return toResponse(job);
+    }
+
+    @Override
+    public ExportJobResponse getById(UUID id) {
+        return toResponse(getJob(id));
+    }
+
+    @Override
+    public ExportJobResponse cancel(UUID id) {
+        var job = getJob(id);
+        job.cancel();
+        return toResponse(job);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(ExportJob::cancel);
+        executor.shutdownNow();
+    }
+
+    private void run(ExportJob job) {
+        if (!job.start()) {
+            return;
+        }
+        var partFile = job.getFile().resolveSibling(job.getFile().getFileName() + PART_SUFFIX);
+        try {
+            try (var channel = FileChannel.open(partFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+                 var out = new BufferedOutputStream(
+                         new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), BUFFER_SIZE)) {
+                write(job, out);
+            }
+            Files.move(partFile, job.getFile(), StandardCopyOption.ATOMIC_MOVE);
+            job.finish(ExportJobStatus.COMPLETED, null);
+            log.info("Export job {} completed: {} rows in {}", job.getId(), job.getRows(), job.getFile());
+        } catch (CancellationException e) {
+            deleteQuietly(partFile);
+            job.finish(ExportJobStatus.CANCELLED, null);
+            log.info("Export job {} cancelled after {} rows", job.getId(), job.getRows());
+        } catch (Exception e) {
+            deleteQuietly(partFile);
+            job.finish(ExportJobStatus.FAILED, "Export failed");
+            log.error("Export job {} failed after {} rows", job.getId(), job.getRows(), e);
+        }
+    }
+
+    private void write(ExportJob job, OutputStream out) throws IOException {
+        var request = job.getRequest();
+        if (request.format() == ExportFormat.NDJSON) {
+            Consumer<Object> sink = row -> {
+                checkCancelled(job);
+                try {
+                    out.write(objectMapper.writeValueAsBytes(row));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                job.rowWritten();
+            };
+            export(request, sink::accept, sink::accept);
+            return;
+        }
+
+        var csv = new CsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (var column : request.target().getBulkLoadTable().getColumns()) {
+            csv.field(column);
+        }
+        csv.endRow();
+        export(request, user -> writeCsvRow(job, csv,
+                        user.userId(), user.name(), user.surname(), user.birthDate(), user.email()),
+                card -> writeCsvRow(job, csv,
+                        card.userId(), card.number(), card.holder(), card.expirationDate()));
+        csv.flush();
+    }
+
+    private void export(ExportJobRequest request,
+                        Consumer<UserResponse> users,
+                        Consumer<CardResponse> cards) {
+        if (request.target() == ExportTarget.USERS) {
+            // CSV has no card columns, so cards are only read for NDJSON
+            userExportService.exportUsers(request.createdFrom(), request.createdTo(),
+                    request.format() == ExportFormat.NDJSON, users);
+        } else {
+            cardExportService.exportCards(request.expiresFrom(), request.expiresTo(), cards);
+        }
+    }
+
+    private static void writeCsvRow(ExportJob job, CsvWriter csv, Object... values) {
+        checkCancelled(job);
+        try {
+            for (var value : values) {
+                csv.field(value);
+            }
+            csv.endRow();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        job.rowWritten();
+    }
+
+    // thrown out of the row callback, which ends the query and the read only transaction
+    private static void checkCancelled(ExportJob job) {
+        if (job.isCancelRequested() || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException();
+        }
+    }
+
+    private static void validate(ExportJobRequest request) {
+        if (request.target() == ExportTarget.USERS && (request.expiresFrom() != null || request.expiresTo() != null)) {
+            throw new InvalidExportRequestException("Expiration filter applies to card exports only");
+        }
+        if (request.target() == ExportTarget.CARDS && (request.createdFrom() != null || request.createdTo() != null)) {
+            throw new InvalidExportRequestException("Creation filter applies to user exports only");
+        }
+    }
+
+    private ExportJob getJob(UUID id) {
+        var job = jobs.get(id);
+        if (job == null) {
+            throw new ExportJobNotFoundException(id);
+        }
+        return job;
+    }
+
+    @Scheduled(fixedDelayString = "${app.export.cleanup-interval:600000}")
+    public void removeExpiredJobs() {
+        var expiredBefore = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            if (job.getFinishedAt() == null || !job.getFinishedAt().isBefore(expiredBefore)) {
+                return false;
+            }
+            deleteQuietly(job.getFile());
+            return true;
+        });
+
+        // files of earlier runs, the directory may be shared, so anything not named like an export is left alone
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (var files = Files.list(directory)) {
+            files.filter(file -> isOrphanedExport(file) && isModifiedBefore(file, expiredBefore))
+                    .forEach(ExportJobServiceImpl::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("Cannot clean up export directory {}", directory, e);
+        }
+    }
+
+    private boolean isOrphanedExport(Path file) {
+        var matcher = EXPORT_FILE.matcher(file.getFileName().toString());
+        return matcher.matches() && !jobs.containsKey(UUID.fromString(matcher.group(1)));
+    }
+
+    private static boolean isModifiedBefore(Path file, Instant instant) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(instant);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Cannot delete export file {}", file, e);
+        }
+    }
+
+    private static ExportJobResponse toResponse(ExportJob job) {
+        var startedAt = job.getStartedAt();
+        var rowsPerSecond = 0L;
+        if (startedAt != null) {
+            var end = job.getFinishedAt() != null ? job.getFinishedAt() : Instant.now();
+            rowsPerSecond = job.getRows() * 1000 / Math.max(Duration.between(startedAt, end).toMillis(), 1);
+        }
+        return new ExportJobResponse(
+                job.getId(),
+                job.getRequest().target(),
+                job.getRequest().format(),
+                job.getStatus(),
+                job.getRows(),
+                rowsPerSecond,
+                // relative to the export directory, the server layout is not exposed
+                job.getFile().getFileName().toString(),
+                job.getCreatedAt(),
+                startedAt,
+                job.getFinishedAt(),
+                job.getError()
+        );
+    }
+}
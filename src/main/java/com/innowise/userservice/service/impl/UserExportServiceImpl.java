@@ -0,0 +1,145 @@
+package com.innowise.userservice.service.impl;
+
+import com.innowise.userservice.dto.CardResponse;
+import com.innowise.userservice.dto.UserResponse;
+import com.innowise.userservice.service.UserExportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/*
+    Full export without pages and entities: one query over users left joined with cards, read through
+    a server side cursor (pgjdbc fetches app.users.export.fetch-size rows at a time, which needs the transaction).
+    Rows are ordered by users.id, so the rows of a user are adjacent and are folded into one UserResponse
+    that is passed to the sink before the next user is read. Memory does not depend on the table size.
+    Exports that do not need cards read users alone.
+ */
+@Service
+public class UserExportServiceImpl implements UserExportService {
+    // no order of cards within a user, so the join can be a merge join over users_pkey and idx_card_info_user_id
+    private static final String USERS_WITH_CARDS = """
+            select u.id, u.user_id, u.name, u.surname, u.birth_date, u.email,
+                   c.id as card_id, c.number, c.holder, c.expiration_date
+            from users u
+            left join card_info c on c.user_id = u.id
+            %s
+            order by u.id
+            """;
+    private static final String USERS = """
+            select u.user_id, u.name, u.surname, u.birth_date, u.email
+            from users u
+            %s
+            order by u.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserExportServiceImpl(DataSource dataSource,
+                                 @Value("${app.users.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(Consumer<UserResponse> sink) {
+        return exportUsers(null, null, true, sink);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportUsers(OffsetDateTime createdFrom, OffsetDateTime createdTo, boolean withCards,
+                            Consumer<UserResponse> sink) {
+        var conditions = new ArrayList<String>();
+        var args = new ArrayList<Object>();
+        if (createdFrom != null) {
+            conditions.add("u.created_at >= ?");
+            args.add(createdFrom);
+        }
+        if (createdTo != null) {
+            conditions.add("u.created_at < ?");
+            args.add(createdTo);
+        }
+        var where = conditions.isEmpty() ? "" : "where " + String.join(" and ", conditions);
+
+        if (!withCards) {
+            var users = new AtomicLong();
+            jdbcTemplate.query(USERS.formatted(where), rs -> {
+                sink.accept(toUser(rs, List.of()));
+                users.incrementAndGet();
+            }, args.toArray());
+            return users.get();
+        }
+
+        var collector = new UserCollector(sink);
+        jdbcTemplate.query(USERS_WITH_CARDS.formatted(where), collector, args.toArray());
+        return collector.finish();
+    }
+
+    private static UserResponse toUser(ResultSet rs, List<CardResponse> cards) throws SQLException {
+        return new UserResponse(
+                rs.getString("user_id"),
+                rs.getString("name"),
+                rs.getString("surname"),
+                rs.getObject("birth_date", LocalDate.class),
+                rs.getString("email"),
+                cards
+        );
+    }
+
+    private static final class UserCollector implements RowCallbackHandler {
+        private final Consumer<UserResponse> sink;
+        private UUID currentId;
+        private UserResponse current;
+        private long users;
+
+        private UserCollector(Consumer<UserResponse> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            var id = rs.getObject("id", UUID.class);
+            if (!id.equals(currentId)) {
+                flush();
+                currentId = id;
+                current = toUser(rs, new ArrayList<>());
+            }
+            var cardId = rs.getObject("card_id", UUID.class);
+            if (cardId != null) {
+                current.cards().add(new CardResponse(
+                        cardId,
+                        current.userId(),
+                        rs.getString("number"),
+                        rs.getString("holder"),
+                        rs.getObject("expiration_date", LocalDate.class)
+                ));
+            }
+        }
+
+        private long finish() {
+            flush();
+            return users;
+        }
+
+        private void flush() {
+            if (current != null) {
+                sink.accept(current);
+                users++;
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.innowise.userservice.service.impl;
+
+import com.innowise.userservice.dto.UserImportResult;
+import com.innowise.userservice.dto.UserImportRow;
+import com.innowise.userservice.dto.UserImportStatus;
+import com.innowise.userservice.mapper.UserMapper;
+import com.innowise.userservice.repository.UserRepository;
+import com.innowise.userservice.service.UserImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/*
+    Bulk user creation. Every chunk is validated, checked for existing emails and user ids with one query,
+    and inserted in one transaction (JDBC batches of hibernate.jdbc.batch_size, rewritten into multi-row inserts
+    by the driver, see reWriteBatchedInserts). A chunk that still hits a unique constraint (a concurrent writer
+    took a key after the check) is inserted again row by row, so only the conflicting rows are rejected.
+    Imported users are not put into the caches, they are loaded on first read.
+ */
+@Service
+@Slf4j
+public class UserImportServiceImpl implements UserImportService {
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 UserMapper userMapper,
+                                 Validator validator,
+                                 @Value("${app.users.import.chunk-size:1000}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void importUsers(Iterator<UserImportRow> rows, Consumer<UserImportResult> sink) {
+        var chunk = new ArrayList<UserImportRow>(chunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk).forEach(sink);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk).forEach(sink);
+        }
+    }
+
+    @Override
+    public List<UserImportResult> importChunk(List<UserImportRow> rows) {
+        var start = System.nanoTime();
+        var results = new UserImportResult[rows.size()];
+        var accepted = new ArrayList<Integer>(rows.size());
+        var emails = new HashSet<String>();
+        var userIds = new HashSet<String>();
+        for (int i = 0; i < rows.size(); i++) {
+            var row = rows.get(i);
+            var error = validate(row);
+            if (error != null) {
+                results[i] = result(row, UserImportStatus.INVALID, error);
+            } else if (emails.contains(row.request().email()) || userIds.contains(row.request().userId())) {
+                results[i] = result(row, UserImportStatus.DUPLICATE, "Repeats an earlier row of the import");
+            } else {
+                emails.add(row.request().email());
+                userIds.add(row.request().userId());
+                accepted.add(i);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            var existingEmails = new HashSet<String>();
+            var existingUserIds = new HashSet<String>();
+            userRepository.findKeysByEmailInOrUserIdIn(emails, userIds).forEach(keys -> {
+                existingEmails.add(keys.getEmail());
+                existingUserIds.add(keys.getUserId());
+            });
+
+            var inserted = new ArrayList<Integer>(accepted.size());
+            for (var i : accepted) {
+                var request = rows.get(i).request();
+                if (existingEmails.contains(request.email())) {
+                    results[i] = result(rows.get(i), UserImportStatus.DUPLICATE, "User already exists: " + request.email());
+                } else if (existingUserIds.contains(request.userId())) {
+                    results[i] = result(rows.get(i), UserImportStatus.DUPLICATE, "User already exists: " + request.userId());
+                } else {
+                    inserted.add(i);
+                }
+            }
+            insert(rows, inserted, results);
+        }
+
+        log.debug("Imported chunk of {} users in {} ms", rows.size(), (System.nanoTime() - start) / 1_000_000);
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    private void insert(List<UserImportRow> rows, List<Integer> indexes, UserImportResult[] results) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        try {
+            userRepository.saveAll(indexes.stream().map(i -> userMapper.toEntity(rows.get(i).request())).toList());
+            indexes.forEach(i -> results[i] = result(rows.get(i), UserImportStatus.CREATED, null));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Chunk insert hit a unique constraint, inserting {} rows one by one", indexes.size());
+            indexes.forEach(i -> results[i] = insertOne(rows.get(i)));
+        }
+    }
+
+    private UserImportResult insertOne(UserImportRow row) {
+        try {
+            userRepository.save(userMapper.toEntity(row.request()));
+            return result(row, UserImportStatus.CREATED, null);
+        } catch (DataIntegrityViolationException e) {
+            // the same exception covers values the columns cannot hold (e.g. too long)
+            if (userRepository.existsByEmail(row.request().email()) || userRepository.existsByUserId(row.request().userId())) {
+                return result(row, UserImportStatus.DUPLICATE, "User already exists: " + row.request().userId());
+            }
+            return result(row, UserImportStatus.INVALID, "Rejected by database constraints");
+        } catch (RuntimeException e) {
+            log.warn("Cannot import user at line {}: {}", row.line(), e.getMessage());
+            return result(row, UserImportStatus.FAILED, "Internal server error");
+        }
+    }
+
+    private String validate(UserImportRow row) {
+        if (row.request() == null) {
+            return row.error();
+        }
+        var violations = validator.validate(row.request());
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        // not required by the single create request, but a null here would fail the whole chunk insert
+        if (row.request().birthDate() == null) {
+            return "Birth date is required";
+        }
+        return null;
+    }
+
+    private static UserImportResult result(UserImportRow row, UserImportStatus status, String message) {
+        var userId = row.request() != null ? row.request().userId() : null;
+        return new UserImportResult(row.line(), userId, status, message);
+    }
+}
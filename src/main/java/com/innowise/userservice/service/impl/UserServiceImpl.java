@@ -1,5 +1,9 @@
 package com.innowise.userservice.service.impl;
 
+import com.innowise.userservice.cache.AfterCommit;
+import com.innowise.userservice.cache.CacheNames;
+import com.innowise.userservice.dto.CursorPageResponse;
+import com.innowise.userservice.dto.PagedResponse;
 import com.innowise.userservice.dto.UserCreateRequest;
 import com.innowise.userservice.dto.UserResponse;
 import com.innowise.userservice.dto.UserUpdateRequest;
@@ -7,31 +11,40 @@ import com.innowise.userservice.entity.User;
 import com.innowise.userservice.exception.UserAlreadyExistsException;
 import com.innowise.userservice.exception.UserNotFoundException;
 import com.innowise.userservice.mapper.UserMapper;
+import com.innowise.userservice.pagination.ConcurrentPageCounter;
+import com.innowise.userservice.pagination.CountMode;
+import com.innowise.userservice.pagination.KeysetCursorCodec;
+import com.innowise.userservice.pagination.UserSortField;
+import com.innowise.userservice.repository.CardRepository;
 import com.innowise.userservice.repository.UserRepository;
 import com.innowise.userservice.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final CardRepository cardRepository;
     private final UserMapper userMapper;
     private final CacheManager cacheManager;
-    public static final String USER_CACHE = "USER_CACHE";
+    private final ConcurrentPageCounter pageCounter;
 
     @Override
-    @Caching(put = {
-            @CachePut(value = USER_CACHE, key = "#result.userId()"),
-            @CachePut(value = USER_CACHE, key = "#result.email()")
-    })
     public UserResponse create(UserCreateRequest request) {
         if (userRepository.existsByEmail(request.email())) {
             throw new UserAlreadyExistsException(request.email());
@@ -41,45 +54,98 @@ public class UserServiceImpl implements UserService {
             throw new UserAlreadyExistsException(request.userId());
         }
 
-        return userMapper.toResponse(
+        var userResponse = userMapper.toResponse(
                 userRepository.save(userMapper.toEntity(request))
         );
+        cacheById(userResponse);
+        indexEmail(userResponse);
+        return userResponse;
     }
 
+    // Not transactional on purpose: a cache hit must not check out a database connection
     @Override
-    @Transactional(readOnly = true)
     public UserResponse getByUserId(String userId) {
-        var userResponse = userRepository.findUserByUserId(userId)
-                .map(userMapper::toResponse)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+        return getOrLoad(CacheNames.USER_CACHE, userId, () -> {
+            var userResponse = userRepository.findWithCardsByUserId(userId)
+                    .map(userMapper::toResponse)
+                    .orElseThrow(() -> new UserNotFoundException(userId));
+            indexEmail(userResponse);
+            return userResponse;
+        });
+    }
 
-        cacheById(userResponse);
-        cacheByEmail(userResponse);
+    @Override
+    public UserResponse getByEmail(String email) {
+        var loaded = new AtomicReference<UserResponse>();
+        var userId = getOrLoad(CacheNames.USER_EMAIL_CACHE, email, () -> {
+            var userResponse = loadByEmail(email);
+            loaded.set(userResponse);
+            return userResponse.userId();
+        });
+        if (loaded.get() != null) {
+            return loaded.get();
+        }
 
+        /*
+            The index entry and the user are separate keys, so the pointer may outlive the user or its email.
+            Such a pointer is dropped and the user is read by email again.
+         */
+        try {
+            var userResponse = getByUserId(userId);
+            if (email.equals(userResponse.email())) {
+                return userResponse;
+            }
+        } catch (UserNotFoundException ignored) {
+            // the indexed user was deleted
+        }
+        evictCache(CacheNames.USER_EMAIL_CACHE, email);
+        var userResponse = loadByEmail(email);
+        indexEmail(userResponse);
         return userResponse;
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public UserResponse getByEmail(String email) {
-        var userResponse = userRepository.findUserByEmail(email)
-                .map(userMapper::toResponse)
-                .orElseThrow(() -> new UserNotFoundException(email));
+    public Page<UserResponse> getAllPaged(Pageable pageable) {
+        return pageCounter.getPage(() -> findSlice(pageable).getContent(), pageable, userRepository::count);
+    }
 
-        cacheById(userResponse);
-        cacheByEmail(userResponse);
+    @Override
+    public PagedResponse<UserResponse> getAllPaged(Pageable pageable, CountMode countMode) {
+        if (countMode == CountMode.EXACT) {
+            return PagedResponse.exact(getAllPaged(pageable));
+        }
 
-        return userResponse;
+        var slice = findSlice(pageable);
+        return countMode == CountMode.ESTIMATED
+                ? PagedResponse.estimated(slice, slice.hasNext() ? userRepository.estimateCount() : null)
+                : PagedResponse.withoutTotal(slice);
     }
 
+    private Slice<UserResponse> findSlice(Pageable pageable) {
+        return userRepository.findSliceWithCards(pageable).map(userMapper::toResponse);
+    }
+
+    /*
+        The window is read without cards (a collection fetch cannot be limited in SQL),
+        then the users of the window are fetched with cards by id and put back in the order of the window.
+     */
     @Override
-    public Page<UserResponse> getAllPaged(Pageable pageable) {
-        var ids = userRepository.findUserIds(pageable);
-        var users = userRepository.findAllWithCardsByIds(ids.getContent())
+    public CursorPageResponse<UserResponse> getAllByCursor(String cursor, int size, String sort, Sort.Direction direction) {
+        var keyset = KeysetCursorCodec.resolve(UserSortField.class, cursor, sort, direction);
+        var window = userRepository.findWindow(keyset, size);
+        var ids = window.getContent().stream().map(User::getId).toList();
+        var usersById = userRepository.findAllWithCardsByIds(ids)
                 .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        var users = ids.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
                 .map(userMapper::toResponse)
                 .toList();
-        return new PageImpl<>(users, pageable, ids.getTotalElements());
+        var nextCursor = window.hasNext()
+                ? KeysetCursorCodec.encode(keyset, (KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
+        return new CursorPageResponse<>(users, users.size(), window.hasNext(), nextCursor);
     }
 
     @Override
@@ -92,10 +158,15 @@ public class UserServiceImpl implements UserService {
                                     !user.getEmail().equals(request.email())) {
                                 throw new UserAlreadyExistsException(request.email());
                             }
+                            var previousEmail = user.getEmail();
                             userMapper.update(request, user);
                             userRepository.update(user.getId(), user.getName(), user.getSurname(), user.getBirthDate(),
                                     user.getEmail());
-                            evictUserCache(user);
+                            evictCache(CacheNames.USER_CACHE, user.getUserId());
+                            evictCache(CacheNames.USER_EMAIL_CACHE, previousEmail);
+                            if (!previousEmail.equals(user.getEmail())) {
+                                evictCache(CacheNames.USER_EMAIL_CACHE, user.getEmail());
+                            }
                         },
                         () -> {
                             throw new UserNotFoundException(userId);
@@ -109,8 +180,11 @@ public class UserServiceImpl implements UserService {
         userRepository.findUserByUserId(userId)
                 .ifPresentOrElse(
                         user -> {
+                            var cardIds = cardRepository.findCardIdsByUserId(userId);
                             userRepository.deleteByUserId(userId);
-                            evictUserCache(user);
+                            evictCache(CacheNames.USER_CACHE, user.getUserId());
+                            evictCache(CacheNames.USER_EMAIL_CACHE, user.getEmail());
+                            cardIds.forEach(cardId -> evictCache(CacheNames.CARD_OWNER_CACHE, cardId.toString()));
                         },
                         () -> {
                             throw new UserNotFoundException(userId);
@@ -124,30 +198,59 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new UserNotFoundException(userId));
     }
 
+    // Card changes do not touch the email, so the email index stays valid
     @Override
     public void evictUserCache(User user) {
-        evictUserCache(user.getUserId(), user.getEmail());
+        evictCache(CacheNames.USER_CACHE, user.getUserId());
     }
 
-    private void evictUserCache(String userId, String email) {
-        var cache = cacheManager.getCache(USER_CACHE);
-        if (cache != null) {
-            cache.evict(userId);
-            cache.evict(email);
+    private UserResponse loadByEmail(String email) {
+        var userResponse = userRepository.findWithCardsByEmail(email)
+                .map(userMapper::toResponse)
+                .orElseThrow(() -> new UserNotFoundException(email));
+        cacheById(userResponse);
+        return userResponse;
+    }
+
+    /*
+        Concurrent misses of the same key are coalesced by the cache, so only one loader hits the database.
+        Loader failures (e.g. UserNotFoundException) are rethrown as is.
+     */
+    private <T> T getOrLoad(String cacheName, String key, Callable<T> loader) {
+        var cache = cacheManager.getCache(cacheName);
+        try {
+            return cache != null ? cache.get(key, loader) : loader.call();
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
         }
     }
 
     private void cacheById(UserResponse user) {
-        var cache = cacheManager.getCache(USER_CACHE);
+        var cache = cacheManager.getCache(CacheNames.USER_CACHE);
         if (cache != null) {
             cache.put(user.userId(), user);
         }
     }
 
-    private void cacheByEmail(UserResponse user) {
-        var cache = cacheManager.getCache(USER_CACHE);
+    private void indexEmail(UserResponse user) {
+        var cache = cacheManager.getCache(CacheNames.USER_EMAIL_CACHE);
+        if (cache != null) {
+            cache.put(user.email(), user.userId());
+        }
+    }
+
+    // deferred to the commit of the current transaction, see AfterCommit
+    private void evictCache(String cacheName, String key) {
+        var cache = cacheManager.getCache(cacheName);
         if (cache != null) {
-            cache.put(user.email(), user);
+            AfterCommit.run(() -> cache.evict(key));
         }
     }
 }
@@ -0,0 +1,77 @@
+package com.innowise.userservice.benchmark;
+
+import com.innowise.userservice.security.AccessRule;
+import com.innowise.userservice.security.AccessRuleAuthorizationManager;
+import com.innowise.userservice.security.Authorize;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+    Authorization overhead per call of a "self" endpoint for a non-admin caller, so both sides of the rule run:
+    the former @PreAuthorize expression evaluated by PreAuthorizeAuthorizationManager
+    against the compiled @Authorize rule. Reports time and heap allocation per call.
+    Run with: mvn test -Dtest=AuthorizationBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AuthorizationBenchmarkTest {
+    private static final int ITERATIONS = 1_000_000;
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final String USER_ID = "7f9c2a64-3f1e-4c1b-9a53-2d2f0c8e6b11";
+
+    private final Authentication authentication = new UsernamePasswordAuthenticationToken(
+            USER_ID, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+    static class UserEndpoint {
+        @PreAuthorize("hasRole('ADMIN') or #userId.toString().equals(authentication.principal)")
+        @Authorize(AccessRule.ADMIN_OR_SELF)
+        public void getById(String userId) {
+        }
+    }
+
+    @Test
+    @DisplayName("Compare SpEL and compiled rule authorization")
+    void compareExpressionAndCompiledRule() throws NoSuchMethodException {
+        var invocation = new SimpleMethodInvocation(new UserEndpoint(),
+                UserEndpoint.class.getMethod("getById", String.class), USER_ID);
+
+        var expression = measure("@PreAuthorize (SpEL)", new PreAuthorizeAuthorizationManager(), invocation);
+        var compiled = measure("@Authorize (compiled)", new AccessRuleAuthorizationManager(null, null), invocation);
+
+        System.out.printf("Compiled / SpEL time: %.2fx%n", compiled / expression);
+    }
+
+    private double measure(String name, AuthorizationManager<MethodInvocation> manager, MethodInvocation invocation) {
+        var granted = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            granted += manager.authorize(() -> authentication, invocation).isGranted() ? 1 : 0;
+        }
+
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var threadId = Thread.currentThread().getId();
+        var allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        var start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            granted += manager.authorize(() -> authentication, invocation).isGranted() ? 1 : 0;
+        }
+        var nanosPerCall = (System.nanoTime() - start) / (double) ITERATIONS;
+        var bytesPerCall = (threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore) / (double) ITERATIONS;
+
+        assertEquals(WARMUP_ITERATIONS + ITERATIONS, granted);
+        System.out.printf("%-24s %8.0f ns/call %8.0f bytes/call%n", name, nanosPerCall, bytesPerCall);
+        return nanosPerCall;
+    }
+}
@@ -0,0 +1,82 @@
+package com.innowise.userservice.benchmark;
+
+import com.innowise.userservice.bulkload.BulkLoadFormat;
+import com.innowise.userservice.bulkload.BulkLoadTable;
+import com.innowise.userservice.controller.AbstractIntegrationTest;
+import com.innowise.userservice.dto.UserCreateRequest;
+import com.innowise.userservice.dto.UserImportRow;
+import com.innowise.userservice.repository.CardRepository;
+import com.innowise.userservice.repository.UserRepository;
+import com.innowise.userservice.service.BulkLoadService;
+import com.innowise.userservice.service.UserImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+    Loads the same users through the COPY bulk load and through the batched JPA import (POST /api/v1/users/import),
+    and prints rows per second of both.
+    Run with: mvn test -Dtest=BulkLoadBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+class BulkLoadBenchmarkTest extends AbstractIntegrationTest {
+    private static final int USERS = 200_000;
+
+    @Autowired
+    private BulkLoadService bulkLoadService;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @BeforeEach
+    void clearRepositories() {
+        cardRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Compare COPY bulk load with batched import")
+    void measureBulkLoadAgainstImport() {
+        var csv = new StringBuilder("user_id,name,surname,birth_date,email\n");
+        for (int i = 0; i < USERS; i++) {
+            csv.append("COPY_").append(i).append(",BENCH_NAME,BENCH_SURNAME,1990-01-01,copy").append(i).append("@email\n");
+        }
+
+        var report = bulkLoadService.load(BulkLoadTable.USERS, BulkLoadFormat.CSV,
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+        System.out.printf("copy: %d rows in %d ms (copy %d ms, merge %d ms), %d rows/s%n",
+                report.inserted(), report.copyMillis() + report.mergeMillis(), report.copyMillis(),
+                report.mergeMillis(), report.rowsPerSecond());
+        assertEquals(USERS, report.inserted());
+
+        var rows = LongStream.rangeClosed(1, USERS)
+                .mapToObj(line -> UserImportRow.of(line, new UserCreateRequest("IMPORT_" + line, "BENCH_NAME",
+                        "BENCH_SURNAME", LocalDate.of(1990, 1, 1), "import" + line + "@email")))
+                .iterator();
+        var start = System.nanoTime();
+        userImportService.importUsers(rows, result -> {
+        });
+        var millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("import: %d rows in %d ms, %d rows/s%n", USERS, millis, USERS * 1000L / Math.max(millis, 1));
+        assertEquals(2L * USERS, userRepository.count());
+    }
+}
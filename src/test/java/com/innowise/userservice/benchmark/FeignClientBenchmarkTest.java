@@ -0,0 +1,135 @@
+package com.innowise.userservice.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Feign;
+import feign.Headers;
+import feign.RequestLine;
+import feign.hc5.ApacheHttp5Client;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+    Throughput of token validation calls against a local stub of the auth-service endpoint,
+    with Feign's default HttpURLConnection client and with the pooled Apache HttpClient 5.
+    Connection setup is almost free over loopback, so the number of TCP connections opened is reported as well:
+    over a real network each of them costs at least one extra round trip (plus a TLS handshake).
+    Run with: mvn test -Dtest=FeignClientBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class FeignClientBenchmarkTest {
+    private static final int THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 2_000;
+    private static final int WARMUP_REQUESTS_PER_THREAD = 200;
+    private static final byte[] RESPONSE = "{\"success\":true,\"data\":true}".getBytes(StandardCharsets.UTF_8);
+
+    static {
+        // otherwise every response of the stub waits for the client's delayed ACK (~40 ms)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final Set<InetSocketAddress> connections = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    private String url;
+
+    interface StubAuthClient {
+        @RequestLine("POST /api/v1/auth/validate")
+        @Headers("Content-Type: application/json")
+        String validate(String body);
+    }
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/api/v1/auth/validate", exchange -> {
+            connections.add(exchange.getRemoteAddress());
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            exchange.getResponseBody().write(RESPONSE);
+            exchange.close();
+        });
+        server.setExecutor(Executors.newFixedThreadPool(THREADS));
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Compare throughput of default and pooled Feign clients")
+    void compareDefaultAndPooledClients() throws InterruptedException {
+        var defaultClient = new Client.Default(null, null);
+        var connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(200)
+                .setMaxConnPerRoute(50)
+                .build();
+        var pooledClient = new ApacheHttp5Client(HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .build());
+
+        var defaultThroughput = measure("HttpURLConnection (default)", defaultClient);
+        var pooledThroughput = measure("Apache HttpClient 5 (pooled)", pooledClient);
+
+        System.out.printf("Pooled / default throughput: %.2fx%n", pooledThroughput / defaultThroughput);
+    }
+
+    private double measure(String name, Client client) throws InterruptedException {
+        var authClient = Feign.builder().client(client).target(StubAuthClient.class, url);
+        run(authClient, WARMUP_REQUESTS_PER_THREAD);
+
+        connections.clear();
+        var start = System.nanoTime();
+        var completed = run(authClient, REQUESTS_PER_THREAD);
+        var seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        assertEquals(THREADS * REQUESTS_PER_THREAD, completed);
+        var throughput = completed / seconds;
+        System.out.printf("%-30s %8.0f requests/s, %6d connections opened (%d requests, %d threads)%n",
+                name, throughput, connections.size(), completed, THREADS);
+        return throughput;
+    }
+
+    private int run(StubAuthClient authClient, int requestsPerThread) throws InterruptedException {
+        var completed = new AtomicInteger();
+        var done = new CountDownLatch(THREADS);
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                executor.execute(() -> {
+                    try {
+                        for (int j = 0; j < requestsPerThread; j++) {
+                            authClient.validate("{\"token\":\"TOKEN\"}");
+                            completed.incrementAndGet();
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        } finally {
+            executor.shutdown();
+        }
+        return completed.get();
+    }
+}
@@ -0,0 +1,152 @@
+package com.innowise.userservice.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.innowise.userservice.client.AuthServiceStub;
+import com.innowise.userservice.generated.User;
+import com.innowise.userservice.generated.UserServiceGrpc;
+import com.innowise.userservice.grpc.GrpcAuthenticationInterceptor;
+import com.innowise.userservice.security.*;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.grpc.*;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+    Unary gRPC throughput over localhost (shaded Netty, as used by the server) without authentication and with GrpcAuthenticationInterceptor:
+    REMOTE mode (auth-service stub, answered from the validation cache after the first call)
+    and LOCAL mode (RS256 signature verified on every call).
+    Run with: mvn test -Dtest=GrpcAuthenticationBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class GrpcAuthenticationBenchmarkTest {
+    private static final int THREADS = 16;
+    private static final int CALLS_PER_THREAD = 5_000;
+    private static final int WARMUP_CALLS_PER_THREAD = 1_000;
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    @Test
+    @DisplayName("Compare gRPC throughput without and with authentication")
+    void compareUnauthenticatedAndAuthenticatedCalls() throws Exception {
+        var keyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        var token = JWT.create()
+                .withSubject("7f9c2a64-3f1e-4c1b-9a53-2d2f0c8e6b11")
+                .withClaim("role", "ROLE_USER")
+                .withExpiresAt(Instant.now().plus(1, ChronoUnit.HOURS))
+                .sign(Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate()));
+
+        try (var authService = new AuthServiceStub()) {
+            authService.addValidToken(token);
+            var publicKeyProvider = new JwtPublicKeyProvider(authService.client(), new DefaultResourceLoader());
+            ReflectionTestUtils.setField(publicKeyProvider, "keys", Map.of("default", keyPair.getPublic()));
+
+            // the first round warms up the JVM and the transport, its result is not compared
+            measure("JVM warm-up", null, token);
+            var baseline = measure("No authentication", null, token);
+            var remote = measure("Cached remote validation",
+                    interceptor(authService, publicKeyProvider, TokenValidationMode.REMOTE), token);
+            var local = measure("Local RS256 verification",
+                    interceptor(authService, publicKeyProvider, TokenValidationMode.LOCAL), token);
+
+            System.out.printf("Cached remote / none: %.2fx, local / none: %.2fx (%d auth-service calls)%n",
+                    remote / baseline, local / baseline, authService.getSingleRequests());
+        }
+    }
+
+    private GrpcAuthenticationInterceptor interceptor(AuthServiceStub authService,
+                                                      JwtPublicKeyProvider publicKeyProvider,
+                                                      TokenValidationMode mode) {
+        var circuitBreakerFactory = new Resilience4JCircuitBreakerFactory(CircuitBreakerRegistry.ofDefaults(),
+                TimeLimiterRegistry.ofDefaults(), null);
+        var meterRegistry = new SimpleMeterRegistry();
+        var batcher = new TokenValidationBatcher(authService.client(), circuitBreakerFactory, meterRegistry,
+                false, 100, 5, 4, 100, 2000);
+        var tokenValidationService = new TokenValidationService(authService.client(), circuitBreakerFactory,
+                publicKeyProvider, batcher, meterRegistry, mode, 10_000, 300, 5);
+        return new GrpcAuthenticationInterceptor(tokenValidationService, new JwtClaimsExtractor(), true, Set.of());
+    }
+
+    private double measure(String name, ServerInterceptor interceptor, String token) throws Exception {
+        ServerServiceDefinition service = new EchoService().bindService();
+        if (interceptor != null) {
+            service = ServerInterceptors.intercept(service, interceptor);
+        }
+        var server = NettyServerBuilder.forPort(0).addService(service).build().start();
+        var channel = NettyChannelBuilder.forAddress("127.0.0.1", server.getPort()).usePlaintext().build();
+        try {
+            var headers = new Metadata();
+            headers.put(AUTHORIZATION, "Bearer " + token);
+            var stub = UserServiceGrpc.newBlockingStub(channel)
+                    .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+
+            run(stub, WARMUP_CALLS_PER_THREAD);
+            var start = System.nanoTime();
+            var completed = run(stub, CALLS_PER_THREAD);
+            var seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            assertEquals(THREADS * CALLS_PER_THREAD, completed);
+            var throughput = completed / seconds;
+            System.out.printf("%-26s %8.0f calls/s (%d calls, %d threads)%n", name, throughput, completed, THREADS);
+            return throughput;
+        } finally {
+            channel.shutdownNow();
+            server.shutdownNow();
+        }
+    }
+
+    private int run(UserServiceGrpc.UserServiceBlockingStub stub, int callsPerThread) throws InterruptedException {
+        var completed = new AtomicInteger();
+        var done = new CountDownLatch(THREADS);
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                executor.execute(() -> {
+                    try {
+                        for (int j = 0; j < callsPerThread; j++) {
+                            stub.createUser(User.UserCreateRequest.getDefaultInstance());
+                            completed.incrementAndGet();
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        } finally {
+            executor.shutdown();
+        }
+        return completed.get();
+    }
+
+    private static class EchoService extends UserServiceGrpc.UserServiceImplBase {
+        @Override
+        public void createUser(User.UserCreateRequest request, StreamObserver<User.UserResponse> responseObserver) {
+            responseObserver.onNext(User.UserResponse.getDefaultInstance());
+            responseObserver.onCompleted();
+        }
+    }
+}
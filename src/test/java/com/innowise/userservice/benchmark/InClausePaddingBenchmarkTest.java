@@ -0,0 +1,117 @@
+package com.innowise.userservice.benchmark;
+
+import com.innowise.userservice.controller.AbstractIntegrationTest;
+import com.innowise.userservice.entity.User;
+import com.innowise.userservice.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+    Keyset windows of random sizes (1..100) fetched with cards by id, as UserServiceImpl.getAllByCursor does it.
+    Reports how many distinct SQL strings the id lookups produced and the Hibernate query plan cache hit ratio:
+    with in_clause_parameter_padding the lookups of every size share at most 8 statements (1, 2, 4 .. 128 ids),
+    without it every size is a statement of its own. Pass -Dpadding=false to see the unpadded numbers.
+    Run with: mvn test -Dtest=InClausePaddingBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.query.in_clause_parameter_padding=${padding:true}",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.innowise.userservice.benchmark.InClausePaddingBenchmarkTest$RecordingStatementInspector"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+class InClausePaddingBenchmarkTest extends AbstractIntegrationTest {
+    private static final int USERS = 1_000;
+    private static final int MAX_WINDOW = 100;
+    private static final int LOOKUPS = 5_000;
+    private static final int WARMUP_LOOKUPS = 1_000;
+    private static final Set<String> LOOKUP_STATEMENTS = ConcurrentHashMap.newKeySet();
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            if (sql.contains(" in (")) {
+                LOOKUP_STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<UUID> ids = new ArrayList<>();
+
+    @BeforeEach
+    void createUsers() {
+        userRepository.deleteAll();
+        var users = new ArrayList<User>();
+        for (int i = 0; i < USERS; i++) {
+            var user = new User();
+            user.setUserId(UUID.randomUUID().toString());
+            user.setName("BENCH_NAME" + i);
+            user.setSurname("BENCH_SURNAME" + i);
+            user.setBirthDate(LocalDate.of(1990, 1, 1).plusDays(i));
+            user.setEmail("bench" + i + "@email");
+            users.add(user);
+        }
+        userRepository.saveAll(users).forEach(user -> ids.add(user.getId()));
+    }
+
+    @Test
+    @DisplayName("Count statements and plan cache hits of id lookups with mixed window sizes")
+    void measureMixedWindowSizes() {
+        var random = new Random(42);
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        var fetched = 0L;
+        for (int i = 0; i < WARMUP_LOOKUPS; i++) {
+            fetched += lookup(random);
+        }
+
+        statistics.clear();
+        LOOKUP_STATEMENTS.clear();
+        var start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            fetched += lookup(random);
+        }
+        var micros = (System.nanoTime() - start) / 1_000.0 / LOOKUPS;
+
+        var hits = statistics.getQueryPlanCacheHitCount();
+        var misses = statistics.getQueryPlanCacheMissCount();
+        System.out.printf("padding=%s distinct lookup statements: %d, plan cache hits: %d, misses: %d, %.0f us/lookup%n",
+                System.getProperty("padding", "true"), LOOKUP_STATEMENTS.size(), hits, misses, micros);
+
+        assertTrue(fetched > 0);
+        if (Boolean.parseBoolean(System.getProperty("padding", "true"))) {
+            assertTrue(LOOKUP_STATEMENTS.size() <= 8);
+        }
+    }
+
+    private int lookup(Random random) {
+        var size = 1 + random.nextInt(MAX_WINDOW);
+        var from = random.nextInt(USERS - size);
+        return userRepository.findAllWithCardsByIds(ids.subList(from, from + size)).size();
+    }
+}
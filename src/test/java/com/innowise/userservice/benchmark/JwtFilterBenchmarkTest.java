@@ -0,0 +1,81 @@
+package com.innowise.userservice.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.innowise.userservice.security.JwtClaimsExtractor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/*
+    Cost of building the Authentication in JwtFilter from an already validated token:
+    two JWT.decode calls with a new authority list per request (previous implementation)
+    against the single-pass JwtClaimsExtractor. Reports time and heap allocation per token.
+    Run with: mvn test -Dtest=JwtFilterBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtFilterBenchmarkTest {
+    private static final int ITERATIONS = 1_000_000;
+    private static final int WARMUP_ITERATIONS = 200_000;
+
+    private final String token = JWT.create()
+            .withSubject("7f9c2a64-3f1e-4c1b-9a53-2d2f0c8e6b11")
+            .withClaim("role", "ROLE_USER")
+            .withClaim("email", "user@example.com")
+            .withIssuedAt(Instant.now())
+            .withExpiresAt(Instant.now().plus(1, ChronoUnit.HOURS))
+            .sign(Algorithm.HMAC256("SECRET"));
+
+    @Test
+    @DisplayName("Compare JWT.decode and single-pass claim extraction")
+    void compareDecodeAndClaimsExtractor() {
+        var claimsExtractor = new JwtClaimsExtractor();
+
+        var decode = measure("JWT.decode twice", JwtFilterBenchmarkTest::authenticateWithDecode);
+        var extractor = measure("JwtClaimsExtractor", t -> {
+            var claims = claimsExtractor.extract(t);
+            return new UsernamePasswordAuthenticationToken(claims.subject(), null, claims.authorities());
+        });
+
+        System.out.printf("Extractor / decode time: %.2fx%n", extractor / decode);
+    }
+
+    // the previous JwtFilter.setAuthentication
+    private static Authentication authenticateWithDecode(String token) {
+        var id = JWT.decode(token).getSubject();
+        var role = JWT.decode(token).getClaim("role").asString();
+        return new UsernamePasswordAuthenticationToken(id, null, List.of(new SimpleGrantedAuthority(role)));
+    }
+
+    private double measure(String name, Function<String, Authentication> authenticate) {
+        var blackhole = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            blackhole += authenticate.apply(token).getAuthorities().size();
+        }
+
+        var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        var threadId = Thread.currentThread().getId();
+        var allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        var start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            blackhole += authenticate.apply(token).getAuthorities().size();
+        }
+        var nanosPerToken = (System.nanoTime() - start) / (double) ITERATIONS;
+        var bytesPerToken = (threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore) / (double) ITERATIONS;
+
+        assertEquals(WARMUP_ITERATIONS + ITERATIONS, blackhole);
+        System.out.printf("%-20s %8.0f ns/token %8.0f bytes/token%n", name, nanosPerToken, bytesPerToken);
+        return nanosPerToken;
+    }
+}
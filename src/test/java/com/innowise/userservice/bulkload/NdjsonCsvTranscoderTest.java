@@ -0,0 +1,61 @@
+package com.innowise.userservice.bulkload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.userservice.exception.InvalidBulkLoadDataException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NdjsonCsvTranscoderTest {
+    private final NdjsonCsvTranscoder transcoder =
+            new NdjsonCsvTranscoder(new ObjectMapper(), List.of("userId", "name", "birthDate"));
+
+    @Test
+    @DisplayName("Should write fields in column order, quote values and leave missing fields null")
+    void givenNdjson_whenTranscode_thenWritesCsvRows() throws Exception {
+        // Given
+        var input = """
+                {"name":"TEST \\"NAME\\", JR","userId":"ID_1","birthDate":"1990-01-01","ignored":1}
+
+                {"userId":"ID_2","name":null,"birthDate":""}
+                """;
+        var output = new StringWriter();
+        var progress = new ArrayList<Long>();
+
+        // When
+        var rows = transcoder.transcode(new BufferedReader(new StringReader(input)), output, progress::add);
+
+        // Then
+        assertEquals(2, rows);
+        assertEquals(List.of(1L, 2L), progress);
+        assertEquals("""
+                "ID_1","TEST ""NAME"", JR","1990-01-01"
+                "ID_2",,""
+                """, output.toString());
+    }
+
+    @Test
+    @DisplayName("Should reject input with the line of invalid JSON")
+    void givenInvalidJson_whenTranscode_thenThrows() {
+        // Given
+        var input = """
+                {"userId":"ID_1"}
+
+                {not json
+                """;
+
+        // When, Then
+        var exception = assertThrows(InvalidBulkLoadDataException.class, () ->
+                transcoder.transcode(new BufferedReader(new StringReader(input)), new StringWriter(), rows -> {
+                }));
+        assertEquals("Invalid JSON at line 3", exception.getMessage());
+    }
+}
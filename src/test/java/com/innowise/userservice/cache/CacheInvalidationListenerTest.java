@@ -0,0 +1,81 @@
+package com.innowise.userservice.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationListenerTest {
+    private static final String INSTANCE_ID = "THIS_INSTANCE";
+    private static final byte[] CHANNEL = "CHANNEL".getBytes(StandardCharsets.UTF_8);
+
+    @Mock
+    private TwoLevelCacheManager cacheManager;
+
+    @Test
+    @DisplayName("Should evict local entry when invalidation comes from another instance")
+    void givenRemoteEvictMessage_whenOnMessage_thenEvictsLocalEntry() {
+        // Given
+        var listener = new CacheInvalidationListener(cacheManager, INSTANCE_ID);
+        var message = new CacheInvalidationMessage("OTHER_INSTANCE", "USER_CACHE", "KEY");
+
+        // When
+        listener.onMessage(toRedisMessage(message), null);
+
+        // Then
+        verify(cacheManager, times(1)).evictLocal("USER_CACHE", "KEY");
+    }
+
+    @Test
+    @DisplayName("Should clear local cache when clear invalidation comes from another instance")
+    void givenRemoteClearMessage_whenOnMessage_thenClearsLocalCache() {
+        // Given
+        var listener = new CacheInvalidationListener(cacheManager, INSTANCE_ID);
+        var message = new CacheInvalidationMessage("OTHER_INSTANCE", "USER_CACHE", null);
+
+        // When
+        listener.onMessage(toRedisMessage(message), null);
+
+        // Then
+        verify(cacheManager, times(1)).clearLocal("USER_CACHE");
+        verify(cacheManager, never()).evictLocal(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should ignore invalidation published by the same instance")
+    void givenOwnMessage_whenOnMessage_thenIgnoresMessage() {
+        // Given
+        var listener = new CacheInvalidationListener(cacheManager, INSTANCE_ID);
+        var message = new CacheInvalidationMessage(INSTANCE_ID, "USER_CACHE", "KEY");
+
+        // When
+        listener.onMessage(toRedisMessage(message), null);
+
+        // Then
+        verifyNoInteractions(cacheManager);
+    }
+
+    @Test
+    @DisplayName("Should clear all local caches when (re)subscribed to the channel")
+    void givenSubscription_whenOnChannelSubscribed_thenClearsAllLocalCaches() {
+        // Given
+        var listener = new CacheInvalidationListener(cacheManager, INSTANCE_ID);
+
+        // When
+        listener.onChannelSubscribed(CHANNEL, 1);
+
+        // Then
+        verify(cacheManager, times(1)).clearAllLocal();
+    }
+
+    private DefaultMessage toRedisMessage(CacheInvalidationMessage message) {
+        return new DefaultMessage(CHANNEL, message.encode().getBytes(StandardCharsets.UTF_8));
+    }
+}
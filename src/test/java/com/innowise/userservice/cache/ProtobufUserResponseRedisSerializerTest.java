@@ -0,0 +1,96 @@
+package com.innowise.userservice.cache;
+
+import com.innowise.userservice.dto.CardResponse;
+import com.innowise.userservice.dto.UserResponse;
+import com.innowise.userservice.mapper.UserGrpcMapperImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProtobufUserResponseRedisSerializerTest {
+    private Jackson2JsonRedisSerializer<UserResponse> jsonSerializer;
+    private ProtobufUserResponseRedisSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        var objectMapper = new com.fasterxml.jackson.databind.ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        jsonSerializer = new Jackson2JsonRedisSerializer<>(objectMapper, UserResponse.class);
+        serializer = new ProtobufUserResponseRedisSerializer(new UserGrpcMapperImpl(), jsonSerializer);
+    }
+
+    @Test
+    @DisplayName("Should restore user with cards after serialization")
+    void givenUserWithCards_whenSerializeAndDeserialize_thenReturnsEqualUser() {
+        // Given
+        var card = new CardResponse(UUID.randomUUID(), "USER_ID", "1234567812345678", "HOLDER",
+                LocalDate.of(2030, 1, 31));
+        var user = new UserResponse("USER_ID", "NAME", "SURNAME", LocalDate.of(2000, 5, 17),
+                "TEST@EMAIL", List.of(card));
+
+        // When
+        var bytes = serializer.serialize(user);
+        var result = serializer.deserialize(bytes);
+
+        // Then
+        assertEquals(ProtobufUserResponseRedisSerializer.MAGIC, bytes[0]);
+        assertEquals(ProtobufUserResponseRedisSerializer.VERSION, bytes[1]);
+        assertEquals(user, result);
+    }
+
+    @Test
+    @DisplayName("Should restore user without cards as empty card list")
+    void givenUserWithoutCards_whenSerializeAndDeserialize_thenReturnsEmptyCards() {
+        // Given
+        var user = new UserResponse("USER_ID", "NAME", "SURNAME", LocalDate.of(2000, 5, 17),
+                "TEST@EMAIL", null);
+
+        // When
+        var result = serializer.deserialize(serializer.serialize(user));
+
+        // Then
+        assertEquals("TEST@EMAIL", result.email());
+        assertEquals(List.of(), result.cards());
+    }
+
+    @Test
+    @DisplayName("Should read values written by the previous JSON serializer")
+    void givenLegacyJsonValue_whenDeserialize_thenReadsWithLegacySerializer() {
+        // Given
+        var user = new UserResponse("USER_ID", "NAME", "SURNAME", LocalDate.of(2000, 5, 17),
+                "TEST@EMAIL", List.of());
+        var legacyBytes = jsonSerializer.serialize(user);
+
+        // When
+        var result = serializer.deserialize(legacyBytes);
+
+        // Then
+        assertEquals(user, result);
+    }
+
+    @Test
+    @DisplayName("Should throw SerializationException when format version is unknown")
+    void givenUnknownVersion_whenDeserialize_thenThrowsSerializationException() {
+        // Given
+        var bytes = new byte[]{ProtobufUserResponseRedisSerializer.MAGIC, 99};
+
+        // When, Then
+        assertThrows(SerializationException.class, () -> serializer.deserialize(bytes));
+    }
+
+    @Test
+    @DisplayName("Should return null when value is empty")
+    void givenEmptyBytes_whenDeserialize_thenReturnsNull() {
+        // When, Then
+        assertNull(serializer.deserialize(new byte[0]));
+        assertNull(serializer.deserialize(null));
+    }
+}
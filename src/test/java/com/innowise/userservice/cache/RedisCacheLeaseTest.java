@@ -0,0 +1,159 @@
+package com.innowise.userservice.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCacheLeaseTest {
+    private static final String CACHE_NAME = "USER_CACHE";
+    private static final String LEASE_KEY = "lease:USER_CACHE::KEY";
+    private static final String FAILURE_KEY = "lease-failed:USER_CACHE::KEY";
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RedisCacheLease lease;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lease = new RedisCacheLease(redisTemplate, meterRegistry, Duration.ofMillis(200),
+                Duration.ofMillis(300), Duration.ofMillis(10));
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("Should load value and release lease when lease is acquired")
+    void givenFreeLease_whenLoad_thenLoadsAndReleasesLease() throws Exception {
+        // Given
+        when(valueOperations.setIfAbsent(eq(LEASE_KEY), anyString(), eq(Duration.ofMillis(200)))).thenReturn(true);
+
+        // When
+        var result = lease.load(CACHE_NAME, "KEY", () -> "LOADED", () -> null);
+
+        // Then
+        assertEquals("LOADED", result);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), eq(List.of(LEASE_KEY)), anyString());
+        assertEquals(1.0, outcome("acquired"));
+    }
+
+    @Test
+    @DisplayName("Should serve value stored by lease holder instead of loading when lease is taken")
+    void givenTakenLease_whenValueAppears_thenReturnsRemoteValue() throws Exception {
+        // Given
+        var lookups = new AtomicInteger();
+        when(valueOperations.setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class))).thenReturn(false);
+        when(redisTemplate.hasKey(LEASE_KEY)).thenReturn(true);
+
+        // When
+        var result = lease.load(CACHE_NAME, "KEY",
+                () -> "LOADED",
+                () -> lookups.incrementAndGet() < 3 ? null : "REMOTE");
+
+        // Then
+        assertEquals("REMOTE", result);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any());
+        assertEquals(1.0, outcome("contended"));
+        assertEquals(1.0, outcome("served-after-wait"));
+    }
+
+    @Test
+    @DisplayName("Should load without lease when lease holder does not store value in time")
+    void givenTakenLease_whenWaitTimesOut_thenLoadsItself() throws Exception {
+        // Given
+        when(valueOperations.setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class))).thenReturn(false);
+        when(redisTemplate.hasKey(LEASE_KEY)).thenReturn(true);
+
+        // When
+        var result = lease.load(CACHE_NAME, "KEY", () -> "LOADED", () -> null);
+
+        // Then
+        assertEquals("LOADED", result);
+        assertEquals(1.0, outcome("wait-timeout"));
+    }
+
+    @Test
+    @DisplayName("Should mark failure and rethrow when loader of lease holder throws")
+    void givenFreeLease_whenLoaderThrows_thenMarksFailureAndReleasesLease() {
+        // Given
+        when(valueOperations.setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class))).thenReturn(true);
+
+        // When, Then
+        assertThrows(IllegalStateException.class, () -> lease.load(CACHE_NAME, "KEY",
+                () -> {
+                    throw new IllegalStateException("NOT_FOUND");
+                },
+                () -> null));
+        verify(valueOperations).set(FAILURE_KEY, "1", Duration.ofMillis(200));
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), eq(List.of(LEASE_KEY)), anyString());
+    }
+
+    @Test
+    @DisplayName("Should load right away when lease holder failed and released lease without value")
+    void givenTakenLease_whenHolderFails_thenLoadsWithoutWaitingForTimeout() throws Exception {
+        // Given
+        when(valueOperations.setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class))).thenReturn(false);
+        when(redisTemplate.hasKey(LEASE_KEY)).thenReturn(true, false);
+        when(redisTemplate.hasKey(FAILURE_KEY)).thenReturn(true);
+
+        // When
+        var started = System.nanoTime();
+        var result = lease.load(CACHE_NAME, "KEY", () -> "LOADED", () -> null);
+
+        // Then
+        assertEquals("LOADED", result);
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).compareTo(Duration.ofMillis(300)) < 0);
+        assertEquals(1.0, outcome("holder-failed"));
+        assertEquals(0.0, outcome("wait-timeout"));
+    }
+
+    @Test
+    @DisplayName("Should take over lease when it expired without value")
+    void givenTakenLease_whenLeaseExpires_thenAcquiresAndLoads() throws Exception {
+        // Given
+        when(valueOperations.setIfAbsent(eq(LEASE_KEY), anyString(), any(Duration.class))).thenReturn(false, true);
+        when(redisTemplate.hasKey(LEASE_KEY)).thenReturn(false);
+        when(redisTemplate.hasKey(FAILURE_KEY)).thenReturn(false);
+
+        // When
+        var result = lease.load(CACHE_NAME, "KEY", () -> "LOADED", () -> null);
+
+        // Then
+        assertEquals("LOADED", result);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), eq(List.of(LEASE_KEY)), anyString());
+        assertEquals(1.0, outcome("contended"));
+        assertEquals(1.0, outcome("acquired"));
+    }
+
+    @Test
+    @DisplayName("Should reject wait timeout shorter than lease time")
+    void givenWaitTimeoutShorterThanLeaseTime_whenCreate_thenThrows() {
+        // When, Then
+        assertThrows(IllegalArgumentException.class, () -> new RedisCacheLease(redisTemplate, meterRegistry,
+                Duration.ofSeconds(2), Duration.ofSeconds(1), Duration.ofMillis(50)));
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.counter("cache.lease", "cache", CACHE_NAME, "outcome", outcome).count();
+    }
+}
@@ -0,0 +1,120 @@
+package com.innowise.userservice.cache;
+
+import com.innowise.userservice.exception.CacheLoadTimeoutException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private static final int CALLERS = 8;
+
+    @Test
+    @DisplayName("Should run loader once and share result between concurrent callers of the same key")
+    void givenConcurrentCallers_whenExecute_thenLoaderRunsOnce() throws Exception {
+        // Given
+        var singleFlight = new SingleFlight(Duration.ofSeconds(5));
+        var loads = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(CALLERS);
+
+        try {
+            // When
+            var results = new ArrayList<Future<String>>();
+            for (int i = 0; i < CALLERS; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("KEY", () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return "VALUE";
+                })));
+            }
+            // give every caller a chance to join the in-flight load before it completes
+            Thread.sleep(200);
+            release.countDown();
+
+            // Then
+            for (var result : results) {
+                assertEquals("VALUE", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should propagate loader failure to every waiting caller")
+    void givenFailingLoader_whenExecute_thenAllCallersReceiveFailure() throws Exception {
+        // Given
+        var singleFlight = new SingleFlight(Duration.ofSeconds(5));
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            var leader = executor.submit(() -> singleFlight.execute("KEY", () -> {
+                started.countDown();
+                release.await();
+                throw new IllegalStateException("FAILED");
+            }));
+            started.await();
+            var waiter = executor.submit(() -> singleFlight.execute("KEY", () -> "NOT_CALLED"));
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            var leaderException = assertThrows(ExecutionException.class, () -> leader.get(5, TimeUnit.SECONDS));
+            var waiterException = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, leaderException.getCause());
+            assertInstanceOf(IllegalStateException.class, waiterException.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should throw CacheLoadTimeoutException when waiting for in-flight load takes too long")
+    void givenSlowLoader_whenWaitingLongerThanTimeout_thenThrowsCacheLoadTimeoutException() throws Exception {
+        // Given
+        var singleFlight = new SingleFlight(Duration.ofMillis(50));
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> singleFlight.execute("KEY", () -> {
+                started.countDown();
+                release.await();
+                return "VALUE";
+            }));
+            started.await();
+
+            // When, Then
+            assertThrows(CacheLoadTimeoutException.class, () -> singleFlight.execute("KEY", () -> "NOT_CALLED"));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load again after previous load of the same key completed")
+    void givenCompletedLoad_whenExecuteAgain_thenRunsLoaderAgain() throws Exception {
+        // Given
+        var singleFlight = new SingleFlight(Duration.ofSeconds(1));
+        var loads = new AtomicInteger();
+
+        // When
+        singleFlight.execute("KEY", loads::incrementAndGet);
+        singleFlight.execute("KEY", loads::incrementAndGet);
+
+        // Then
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,130 @@
+package com.innowise.userservice.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheTest {
+    private static final String CACHE_NAME = "TEST_CACHE";
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache;
+    private Cache remoteCache;
+    private TwoLevelCache cache;
+
+    @Mock
+    private CacheInvalidationPublisher invalidationPublisher;
+
+    @BeforeEach
+    void setUp() {
+        localCache = Caffeine.newBuilder().maximumSize(100).build();
+        remoteCache = new ConcurrentMapCache(CACHE_NAME, false);
+        cache = new TwoLevelCache(CACHE_NAME, localCache, remoteCache, invalidationPublisher,
+                new SingleFlight(Duration.ofSeconds(1)), null);
+    }
+
+    @Test
+    @DisplayName("Should write value to both local and remote cache")
+    void givenValue_whenPut_thenStoresInBothLevels() {
+        // When
+        cache.put("KEY", "VALUE");
+
+        // Then
+        assertEquals("VALUE", localCache.getIfPresent("KEY"));
+        assertEquals("VALUE", remoteCache.get("KEY", String.class));
+    }
+
+    @Test
+    @DisplayName("Should populate local cache when value is found only in remote cache")
+    void givenRemoteOnlyValue_whenGet_thenPopulatesLocalCache() {
+        // Given
+        remoteCache.put("KEY", "VALUE");
+
+        // When
+        var result = cache.get("KEY", String.class);
+
+        // Then
+        assertEquals("VALUE", result);
+        assertEquals("VALUE", localCache.getIfPresent("KEY"));
+    }
+
+    @Test
+    @DisplayName("Should serve value from local cache without reading remote cache")
+    void givenLocalValue_whenGet_thenReturnsLocalValue() {
+        // Given
+        localCache.put("KEY", "LOCAL_VALUE");
+        remoteCache.put("KEY", "REMOTE_VALUE");
+
+        // When
+        var result = cache.get("KEY", String.class);
+
+        // Then
+        assertEquals("LOCAL_VALUE", result);
+    }
+
+    @Test
+    @DisplayName("Should call loader and cache result on miss in both levels")
+    void givenMissingValue_whenGetWithLoader_thenLoadsAndCaches() {
+        // When
+        var result = cache.get("KEY", () -> "LOADED");
+
+        // Then
+        assertEquals("LOADED", result);
+        assertEquals("LOADED", localCache.getIfPresent("KEY"));
+        assertEquals("LOADED", remoteCache.get("KEY", String.class));
+    }
+
+    @Test
+    @DisplayName("Should wrap loader exception into ValueRetrievalException")
+    void givenFailingLoader_whenGetWithLoader_thenThrowsValueRetrievalException() {
+        // When, Then
+        var exception = assertThrows(Cache.ValueRetrievalException.class,
+                () -> cache.get("KEY", () -> {
+                    throw new IllegalStateException("FAILED");
+                }));
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+        assertNull(localCache.getIfPresent("KEY"));
+    }
+
+    @Test
+    @DisplayName("Should evict value from both local and remote cache")
+    void givenCachedValue_whenEvict_thenRemovesFromBothLevels() {
+        // Given
+        cache.put("KEY", "VALUE");
+
+        // When
+        cache.evict("KEY");
+
+        // Then
+        assertNull(localCache.getIfPresent("KEY"));
+        assertNull(remoteCache.get("KEY"));
+        assertNull(cache.get("KEY"));
+        verify(invalidationPublisher, times(1)).publishEvict(CACHE_NAME, "KEY");
+    }
+
+    @Test
+    @DisplayName("Should evict only local value without publishing when evicting locally")
+    void givenCachedValue_whenEvictLocal_thenKeepsRemoteValue() {
+        // Given
+        cache.put("KEY", "VALUE");
+
+        // When
+        cache.evictLocal("KEY");
+
+        // Then
+        assertNull(localCache.getIfPresent("KEY"));
+        assertEquals("VALUE", remoteCache.get("KEY", String.class));
+        verify(invalidationPublisher, never()).publishEvict(any(), any());
+    }
+}
@@ -0,0 +1,95 @@
+package com.innowise.userservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.userservice.dto.ApiResponse;
+import com.innowise.userservice.dto.ValidateTokenRequest;
+import com.innowise.userservice.dto.ValidateTokensRequest;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import feign.Feign;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    Stand-in for the auth-service validation endpoints, defines the contract AuthServiceClient relies on:
+    POST /api/v1/auth/validate       {"token": "..."}        -> {"success": true, "data": true|false}
+    POST /api/v1/auth/validate/batch {"tokens": ["...", ...]} -> {"success": true, "data": [true|false, ...]}
+    Batch results are returned in request order. A token is valid when it was registered with addValidToken.
+ */
+public class AuthServiceStub implements AutoCloseable {
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final Set<String> validTokens = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger singleRequests = new AtomicInteger();
+    private final List<List<String>> batchRequests = new CopyOnWriteArrayList<>();
+    private final HttpServer server;
+
+    public AuthServiceStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/auth/validate/batch", this::validateBatch);
+        server.createContext("/api/v1/auth/validate", this::validate);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    public void addValidToken(String token) {
+        validTokens.add(token);
+    }
+
+    public int getSingleRequests() {
+        return singleRequests.get();
+    }
+
+    public List<List<String>> getBatchRequests() {
+        return batchRequests;
+    }
+
+    public AuthServiceClient client() {
+        ObjectFactory<HttpMessageConverters> converters =
+                () -> new HttpMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper));
+        return Feign.builder()
+                .contract(new SpringMvcContract())
+                .encoder(new SpringEncoder(converters))
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(converters)))
+                .target(AuthServiceClient.class, "http://127.0.0.1:" + server.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void validate(HttpExchange exchange) throws IOException {
+        singleRequests.incrementAndGet();
+        var request = objectMapper.readValue(exchange.getRequestBody(), ValidateTokenRequest.class);
+        respond(exchange, ApiResponse.success("Token validated", validTokens.contains(request.token())));
+    }
+
+    private void validateBatch(HttpExchange exchange) throws IOException {
+        var request = objectMapper.readValue(exchange.getRequestBody(), ValidateTokensRequest.class);
+        batchRequests.add(request.tokens());
+        var results = request.tokens().stream().map(validTokens::contains).toList();
+        respond(exchange, ApiResponse.success("Tokens validated", results));
+    }
+
+    private void respond(HttpExchange exchange, ApiResponse<?> body) throws IOException {
+        var bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
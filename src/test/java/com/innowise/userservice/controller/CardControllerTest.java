@@ -18,6 +18,9 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.UUID;
 
 import static org.hamcrest.Matchers.hasSize;
@@ -240,6 +243,140 @@ class CardControllerTest extends AbstractIntegrationTest {
                     .andExpect(jsonPath("$.data.totalPages", is(3)))
                     .andExpect(jsonPath("$.data.content", hasSize(2)));
         }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should keep requested order and owners across pages when sorting cards")
+        void givenSortedRequest_whenTraversePages_thenReturnsCardsInOrder() throws Exception {
+            // Given
+            var newUser = createTestUser();
+            userRepository.save(newUser);
+
+            for (int i = 1; i <= 5; i++) {
+                cardRepository.save(new Card(
+                        null,
+                        newUser,
+                        "TEST_NUMBER" + i,
+                        "TEST_HOLDER" + i,
+                        LocalDate.now().plusDays(i % 3)
+                ));
+            }
+
+            // When
+            var expirationDates = new ArrayList<LocalDate>();
+            var cardIds = new HashSet<String>();
+            for (int page = 0; page < 3; page++) {
+                var data = objectMapper.readTree(mockMvc.perform(get("/api/v1/cards")
+                                .param("page", String.valueOf(page))
+                                .param("size", "2")
+                                .param("sort", "expirationDate,desc"))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString()).path("data");
+                data.path("content").forEach(card -> {
+                    cardIds.add(card.path("id").asText());
+                    expirationDates.add(LocalDate.parse(card.path("expirationDate").asText()));
+                    assertEquals(newUser.getUserId(), card.path("userId").asText());
+                });
+            }
+
+            // Then
+            assertEquals(5, cardIds.size());
+            assertEquals(expirationDates.stream().sorted(Comparator.reverseOrder()).toList(), expirationDates);
+        }
+    }
+
+    @Nested
+    @DisplayName("Scroll cards (keyset)")
+    class ScrollTests {
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should return cards in expiration date order across pages when following cursors")
+        void givenMoreCardsThanPageSize_whenScroll_thenReturnsCardsInOrder() throws Exception {
+            // Given
+            var newUser = createTestUser();
+            userRepository.save(newUser);
+
+            for (int i = 1; i <= 5; i++) {
+                cardRepository.save(new Card(
+                        null,
+                        newUser,
+                        "TEST_NUMBER" + i,
+                        "TEST_HOLDER" + i,
+                        LocalDate.now().plusDays(i % 3)
+                ));
+            }
+
+            // When
+            var expirationDates = new ArrayList<LocalDate>();
+            var cardIds = new HashSet<String>();
+            String cursor = null;
+            do {
+                var request = get("/api/v1/cards/scroll")
+                        .param("size", "2")
+                        .param("sort", "expirationDate");
+                if (cursor != null) {
+                    request.param("cursor", cursor);
+                }
+                var data = objectMapper.readTree(mockMvc.perform(request)
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString()).path("data");
+                data.path("content").forEach(card -> {
+                    cardIds.add(card.path("id").asText());
+                    expirationDates.add(LocalDate.parse(card.path("expirationDate").asText()));
+                });
+                cursor = data.path("hasNext").asBoolean() ? data.path("nextCursor").asText() : null;
+            } while (cursor != null);
+
+            // Then
+            assertEquals(5, cardIds.size());
+            assertEquals(expirationDates.stream().sorted().toList(), expirationDates);
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should return bad request when cursor is malformed")
+        void givenMalformedCursor_whenScroll_thenReturnsBadRequest() throws Exception {
+            // When, Then
+            mockMvc.perform(get("/api/v1/cards/scroll").param("cursor", "NOT_A_CURSOR"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk load cards")
+    class BulkLoadTests {
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should copy cards of known users and skip the rest")
+        void givenCsv_whenBulkLoad_thenInsertsCardsOfKnownUsers() throws Exception {
+            // Given
+            var user = userRepository.save(createTestUser());
+
+            var body = """
+                    user_id,number,holder,expiration_date
+                    %s,NUMBER_1,TEST_HOLDER,2020-01-01
+                    %s,NUMBER_2,TEST_HOLDER,2030-01-01
+                    %s,NUMBER_1,TEST_HOLDER,2030-01-01
+                    UNKNOWN_USER,NUMBER_3,TEST_HOLDER,2030-01-01
+                    """.formatted(user.getUserId(), user.getUserId(), user.getUserId());
+
+            // When, Then
+            mockMvc.perform(post("/api/v1/cards/bulk-load")
+                            .contentType("text/csv")
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpectAll(
+                            jsonPath("$.success", is(true)),
+                            jsonPath("$.data.staged", is(4)),
+                            jsonPath("$.data.inserted", is(2)),
+                            jsonPath("$.data.skipped", is(2))
+                    );
+
+            var cards = cardRepository.findAll();
+            assertEquals(2, cards.size());
+            assertTrue(cards.stream().allMatch(card -> card.getUser().getId().equals(user.getId())));
+        }
     }
 
     @Nested
@@ -0,0 +1,137 @@
+package com.innowise.userservice.controller;
+
+import com.innowise.userservice.dto.ExportJobRequest;
+import com.innowise.userservice.entity.User;
+import com.innowise.userservice.export.ExportFormat;
+import com.innowise.userservice.export.ExportTarget;
+import com.innowise.userservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Testcontainers
+@SpringBootTest(properties = "app.export.directory=${java.io.tmpdir}/user-service-exports-test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+@AutoConfigureMockMvc(addFilters = false)
+class ExportJobControllerTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.export.directory}")
+    private Path exportDirectory;
+
+    @BeforeEach
+    void clearUserRepository() {
+        userRepository.deleteAll();
+    }
+
+    @Nested
+    @DisplayName("Export jobs")
+    class ExportTests {
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should export users created in range to compressed CSV and report completion")
+        void givenUsers_whenStartExport_thenWritesFileAndCompletes() throws Exception {
+            // Given
+            userRepository.save(createUser("FIRST@EMAIL"));
+            userRepository.save(createUser("SECOND@EMAIL"));
+            var request = new ExportJobRequest(ExportTarget.USERS, ExportFormat.CSV,
+                    OffsetDateTime.now().minusHours(1), null, null, null);
+
+            // When
+            var started = mockMvc.perform(post("/api/v1/exports")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isAccepted())
+                    .andExpect(jsonPath("$.success", is(true)))
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            var id = objectMapper.readTree(started).at("/data/id").asText();
+
+            var status = "";
+            var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            String body = null;
+            while (!status.equals("COMPLETED") && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+                body = mockMvc.perform(get("/api/v1/exports/{id}", id))
+                        .andExpect(status().isOk())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+                status = objectMapper.readTree(body).at("/data/status").asText();
+            }
+
+            // Then
+            assertEquals("COMPLETED", status);
+            var job = objectMapper.readTree(body).at("/data");
+            assertEquals(2, job.get("rowsWritten").asInt());
+            try (var in = new GZIPInputStream(Files.newInputStream(exportDirectory.resolve(job.get("file").asText())))) {
+                var lines = new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+                assertEquals(3, lines.size());
+                assertEquals("\"user_id\",\"name\",\"surname\",\"birth_date\",\"email\"", lines.get(0));
+            }
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should return bad request when creation filter is used for cards")
+        void givenCreationFilterForCards_whenStartExport_thenReturnsBadRequest() throws Exception {
+            // Given
+            var request = new ExportJobRequest(ExportTarget.CARDS, ExportFormat.NDJSON,
+                    OffsetDateTime.now(), null, null, null);
+
+            // When, Then
+            mockMvc.perform(post("/api/v1/exports")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should return not found for unknown export job")
+        void givenUnknownId_whenGetById_thenReturnsNotFound() throws Exception {
+            // When, Then
+            mockMvc.perform(get("/api/v1/exports/{id}", UUID.randomUUID()))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+    }
+
+    private User createUser(String email) {
+        var user = new User();
+        user.setUserId(UUID.randomUUID().toString());
+        user.setName("TEST_NAME");
+        user.setSurname("TEST_SURNAME");
+        user.setBirthDate(LocalDate.now().minusDays(1));
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -1,9 +1,15 @@
 package com.innowise.userservice.controller;
 
+import com.innowise.userservice.dto.CardResponse;
 import com.innowise.userservice.dto.UserCreateRequest;
+import com.innowise.userservice.dto.UserResponse;
 import com.innowise.userservice.dto.UserUpdateRequest;
+import com.innowise.userservice.entity.Card;
 import com.innowise.userservice.entity.User;
+import com.innowise.userservice.exception.UserNotFoundException;
+import com.innowise.userservice.repository.CardRepository;
 import com.innowise.userservice.repository.UserRepository;
+import com.innowise.userservice.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -12,17 +18,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.test.context.TestSecurityContextHolder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -37,6 +55,15 @@ class UserControllerTest extends AbstractIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void clearUserRepository() {
         userRepository.deleteAll();
@@ -223,6 +250,32 @@ class UserControllerTest extends AbstractIntegrationTest {
                     .andExpect(jsonPath("$.success", is(false)))
                     .andExpect(jsonPath("$.data").doesNotExist());
         }
+
+        @Test
+        @DisplayName("Should return user response when user gets own profile")
+        void givenOwnId_whenGetById_thenReturnsUserResponse() throws Exception {
+            // Given
+            var id = userRepository.save(createTestUser()).getUserId();
+            TestSecurityContextHolder.setAuthentication(userAuthentication(id));
+
+            // When, Then
+            mockMvc.perform(get("/api/v1/users/{id}", id))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.userId", is(id)));
+        }
+
+        @Test
+        @DisplayName("Should return forbidden when user gets another user's profile")
+        void givenAnotherUsersId_whenGetById_thenReturnsForbidden() throws Exception {
+            // Given
+            var id = userRepository.save(createTestUser()).getUserId();
+            TestSecurityContextHolder.setAuthentication(userAuthentication(UUID.randomUUID().toString()));
+
+            // When, Then
+            mockMvc.perform(get("/api/v1/users/{id}", id))
+                    .andExpect(status().isForbidden())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
     }
 
     @Nested
@@ -313,6 +366,385 @@ class UserControllerTest extends AbstractIntegrationTest {
                     .andExpect(jsonPath("$.data.totalPages", is(3)))
                     .andExpect(jsonPath("$.data.content", hasSize(2)));
         }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should keep Spring Data page fields when count mode is not given")
+        void givenNoCountMode_whenGetAllUsers_thenReturnsPageShape() throws Exception {
+            // Given
+            for (int i = 1; i <= 5; i++) {
+                userRepository.save(createUniqueUser(i));
+            }
+
+            // When, Then
+            mockMvc.perform(get("/api/v1/users?page=1&size=2"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.content", hasSize(2)))
+                    .andExpect(jsonPath("$.data.number", is(1)))
+                    .andExpect(jsonPath("$.data.size", is(2)))
+                    .andExpect(jsonPath("$.data.numberOfElements", is(2)))
+                    .andExpect(jsonPath("$.data.totalElements", is(5)))
+                    .andExpect(jsonPath("$.data.totalPages", is(3)))
+                    .andExpect(jsonPath("$.data.first", is(false)))
+                    .andExpect(jsonPath("$.data.last", is(false)))
+                    .andExpect(jsonPath("$.data.empty", is(false)))
+                    .andExpect(jsonPath("$.data.pageable.pageNumber", is(1)))
+                    .andExpect(jsonPath("$.data.pageable.pageSize", is(2)))
+                    .andExpect(jsonPath("$.data.pageable.offset", is(2)))
+                    .andExpect(jsonPath("$.data.sort.sorted", is(false)))
+                    .andExpect(jsonPath("$.data.countMode", is("EXACT")));
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should return page without total when count mode is NONE")
+        void givenCountModeNone_whenGetAllUsers_thenReturnsPageWithoutTotal() throws Exception {
+            // Given
+            for (int i = 1; i <= 5; i++) {
+                userRepository.save(createUniqueUser(i));
+            }
+
+            // When, Then
+            mockMvc.perform(get("/api/v1/users?page=0&size=2&count=NONE"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.countMode", is("NONE")))
+                    .andExpect(jsonPath("$.data.hasNext", is(true)))
+                    .andExpect(jsonPath("$.data.totalElements").value(nullValue()))
+                    .andExpect(jsonPath("$.data.content", hasSize(2)));
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should return exact total on the last page when count mode is ESTIMATED")
+        void givenLastPageInEstimatedMode_whenGetAllUsers_thenReturnsExactTotal() throws Exception {
+            // Given
+            for (int i = 1; i <= 5; i++) {
+                userRepository.save(createUniqueUser(i));
+            }
+
+            // When, Then
+            mockMvc.perform(get("/api/v1/users?page=2&size=2&count=ESTIMATED"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.countMode", is("EXACT")))
+                    .andExpect(jsonPath("$.data.hasNext", is(false)))
+                    .andExpect(jsonPath("$.data.totalElements", is(5)))
+                    .andExpect(jsonPath("$.data.content", hasSize(1)));
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should keep requested order across pages when sorting users")
+        void givenSortedRequest_whenTraversePages_thenReturnsUsersInOrder() throws Exception {
+            // Given
+            for (int i = 1; i <= 5; i++) {
+                userRepository.save(createUniqueUser(i));
+            }
+
+            // When
+            var surnames = new ArrayList<String>();
+            for (int page = 0; page < 3; page++) {
+                var data = objectMapper.readTree(mockMvc.perform(get("/api/v1/users")
+                                .param("page", String.valueOf(page))
+                                .param("size", "2")
+                                .param("sort", "surname,desc"))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString()).path("data");
+                data.path("content").forEach(user -> surnames.add(user.path("surname").asText()));
+            }
+
+            // Then
+            assertEquals(List.of("TEST_SURNAME5", "TEST_SURNAME4", "TEST_SURNAME3", "TEST_SURNAME2", "TEST_SURNAME1"),
+                    surnames);
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should return every user exactly once across pages when sort keys are equal")
+        void givenEqualSortKeys_whenTraversePages_thenReturnsEveryUserOnce() throws Exception {
+            // Given
+            for (int i = 1; i <= 5; i++) {
+                userRepository.save(createUniqueUser(i));
+            }
+
+            // When
+            var userIds = new ArrayList<String>();
+            for (int page = 0; page < 3; page++) {
+                var data = objectMapper.readTree(mockMvc.perform(get("/api/v1/users")
+                                .param("page", String.valueOf(page))
+                                .param("size", "2")
+                                .param("sort", "birthDate")
+                                .param("count", "NONE"))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString()).path("data");
+                data.path("content").forEach(user -> userIds.add(user.path("userId").asText()));
+            }
+
+            // Then
+            assertEquals(5, userIds.size());
+            assertEquals(5, Set.copyOf(userIds).size());
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should sort page by attribute that is not a keyset sort field")
+        void givenSortByName_whenGetAllUsers_thenReturnsUsersOrderedByName() throws Exception {
+            // Given
+            for (int i = 3; i >= 1; i--) {
+                userRepository.save(createUniqueUser(i));
+            }
+
+            // When, Then
+            mockMvc.perform(get("/api/v1/users").param("sort", "name"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.content[*].name", contains("TEST_NAME1", "TEST_NAME2", "TEST_NAME3")));
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should return bad request when sorting page by unknown field")
+        void givenUnknownSortField_whenGetAllUsers_thenReturnsBadRequest() throws Exception {
+            // When, Then
+            mockMvc.perform(get("/api/v1/users").param("sort", "password"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Scroll users (keyset)")
+    class ScrollTests {
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should return every user exactly once when following cursors with equal sort keys")
+        void givenUsersWithEqualBirthDates_whenScroll_thenReturnsEveryUserOnce() throws Exception {
+            // Given
+            for (int i = 1; i <= 5; i++) {
+                userRepository.save(createUniqueUser(i));
+            }
+
+            // When
+            var userIds = new ArrayList<String>();
+            String cursor = null;
+            var pages = 0;
+            do {
+                var request = get("/api/v1/users/scroll")
+                        .param("size", "2")
+                        .param("sort", "birthDate")
+                        .param("direction", "DESC");
+                if (cursor != null) {
+                    request.param("cursor", cursor);
+                }
+                var body = objectMapper.readTree(mockMvc.perform(request)
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString());
+                body.path("data").path("content").forEach(user -> userIds.add(user.path("userId").asText()));
+                cursor = body.path("data").path("nextCursor").isNull() ? null : body.path("data").path("nextCursor").asText();
+                pages++;
+            } while (cursor != null);
+
+            // Then
+            assertEquals(3, pages);
+            assertEquals(5, userIds.size());
+            assertEquals(5, Set.copyOf(userIds).size());
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should return bad request when cursor is malformed")
+        void givenMalformedCursor_whenScroll_thenReturnsBadRequest() throws Exception {
+            // When, Then
+            mockMvc.perform(get("/api/v1/users/scroll").param("cursor", "NOT_A_CURSOR"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should return bad request when sorting by not indexed field")
+        void givenNotWhitelistedSortField_whenScroll_thenReturnsBadRequest() throws Exception {
+            // When, Then
+            mockMvc.perform(get("/api/v1/users/scroll").param("sort", "name"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success", is(false)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Import users")
+    class ImportTests {
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should create valid rows and report every line of the import")
+        void givenMixedRows_whenImport_thenCreatesValidAndReportsEachLine() throws Exception {
+            // Given
+            userRepository.save(createTestUser());
+
+            var created = new UserCreateRequest(
+                    UUID.randomUUID().toString(),
+                    "TEST_NAME",
+                    "TEST_SURNAME",
+                    LocalDate.now().minusDays(1),
+                    "NEW@EMAIL"
+            );
+            var existing = new UserCreateRequest(
+                    UUID.randomUUID().toString(),
+                    "TEST_NAME",
+                    "TEST_SURNAME",
+                    LocalDate.now().minusDays(1),
+                    "TEST@EMAIL"
+            );
+            var body = String.join("\n",
+                    objectMapper.writeValueAsString(created),
+                    "",
+                    "{not json",
+                    objectMapper.writeValueAsString(existing));
+
+            // When
+            var response = mockMvc.perform(post("/api/v1/users/import")
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            // Then
+            var lines = response.lines()
+                    .map(line -> assertDoesNotThrow(() -> objectMapper.readTree(line)))
+                    .toList();
+            assertEquals(3, lines.size());
+            assertEquals(1, lines.get(0).get("line").asInt());
+            assertEquals("CREATED", lines.get(0).get("status").asText());
+            assertEquals(3, lines.get(1).get("line").asInt());
+            assertEquals("INVALID", lines.get(1).get("status").asText());
+            assertEquals(4, lines.get(2).get("line").asInt());
+            assertEquals("DUPLICATE", lines.get(2).get("status").asText());
+
+            assertEquals(2, userRepository.count());
+            assertTrue(userRepository.findUserByEmail(created.email()).isPresent());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk load users")
+    class BulkLoadTests {
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should copy CSV rows into users and skip existing and incomplete ones")
+        void givenCsv_whenBulkLoad_thenInsertsNewRowsAndReportsSkipped() throws Exception {
+            // Given
+            userRepository.save(createTestUser());
+
+            var body = """
+                    user_id,name,surname,birth_date,email
+                    LEGACY_1,TEST_NAME,TEST_SURNAME,1990-01-01,LEGACY1@EMAIL
+                    LEGACY_2,"TEST, NAME",TEST_SURNAME,1990-01-02,LEGACY2@EMAIL
+                    LEGACY_3,TEST_NAME,TEST_SURNAME,1990-01-03,TEST@EMAIL
+                    LEGACY_4,,TEST_SURNAME,1990-01-04,LEGACY4@EMAIL
+                    """;
+
+            // When, Then
+            mockMvc.perform(post("/api/v1/users/bulk-load")
+                            .contentType("text/csv")
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpectAll(
+                            jsonPath("$.success", is(true)),
+                            jsonPath("$.data.staged", is(4)),
+                            jsonPath("$.data.inserted", is(2)),
+                            jsonPath("$.data.skipped", is(2))
+                    );
+
+            assertEquals(3, userRepository.count());
+            var user = userRepository.findUserByEmail("LEGACY2@EMAIL");
+            assertTrue(user.isPresent());
+            assertEquals("TEST, NAME", user.get().getName());
+            assertEquals(LocalDate.of(1990, 1, 2), user.get().getBirthDate());
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should copy NDJSON rows into users")
+        void givenNdjson_whenBulkLoad_thenInsertsRows() throws Exception {
+            // Given
+            var request = new UserCreateRequest(
+                    UUID.randomUUID().toString(),
+                    "TEST_NAME",
+                    "TEST_SURNAME",
+                    LocalDate.now().minusDays(1),
+                    "TEST@EMAIL"
+            );
+
+            // When, Then
+            mockMvc.perform(post("/api/v1/users/bulk-load")
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .content(objectMapper.writeValueAsString(request) + "\n"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.inserted", is(1)));
+
+            var user = userRepository.findUserByUserId(request.userId());
+            assertTrue(user.isPresent());
+            assertEquals(request.birthDate(), user.get().getBirthDate());
+        }
+
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should return bad request and insert nothing when a row is malformed")
+        void givenMalformedRow_whenBulkLoad_thenReturnsBadRequest() throws Exception {
+            // Given
+            var body = """
+                    user_id,name,surname,birth_date,email
+                    LEGACY_1,TEST_NAME,TEST_SURNAME,1990-01-01,LEGACY1@EMAIL
+                    LEGACY_2,TEST_NAME,TEST_SURNAME,NOT_A_DATE,LEGACY2@EMAIL
+                    """;
+
+            // When, Then
+            mockMvc.perform(post("/api/v1/users/bulk-load")
+                            .contentType("text/csv")
+                            .content(body))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success", is(false)));
+
+            assertEquals(0, userRepository.count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Export users")
+    class ExportTests {
+        @Test
+        @WithMockUser(roles = "ADMIN")
+        @DisplayName("Should stream every user with cards as one NDJSON line")
+        void givenUsersWithCards_whenExport_thenWritesOneLinePerUser() throws Exception {
+            // Given
+            var owner = userRepository.save(createUniqueUser(1));
+            userRepository.save(createUniqueUser(2));
+            cardRepository.save(new Card(null, owner, "NUMBER_1", "TEST_HOLDER", LocalDate.now().plusDays(1)));
+            cardRepository.save(new Card(null, owner, "NUMBER_2", "TEST_HOLDER", LocalDate.now().plusDays(2)));
+
+            // When
+            var response = mockMvc.perform(get("/api/v1/users/export"))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            // Then
+            var users = response.lines()
+                    .map(line -> assertDoesNotThrow(() -> objectMapper.readValue(line, UserResponse.class)))
+                    .toList();
+            assertEquals(2, users.size());
+            var exportedOwner = users.stream()
+                    .filter(user -> user.userId().equals(owner.getUserId()))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(owner.getEmail(), exportedOwner.email());
+            assertEquals(Set.of("NUMBER_1", "NUMBER_2"),
+                    exportedOwner.cards().stream().map(CardResponse::number).collect(Collectors.toSet()));
+            assertTrue(users.stream()
+                    .filter(user -> !user.userId().equals(owner.getUserId()))
+                    .allMatch(user -> user.cards().isEmpty()));
+        }
     }
 
     @Nested
@@ -478,6 +910,53 @@ class UserControllerTest extends AbstractIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("Cache consistency")
+    class CacheConsistencyTests {
+        @Test
+        @DisplayName("Should not keep user read between update and commit in cache")
+        void givenReadBeforeCommit_whenUpdateCommits_thenReturnsUpdatedUser() {
+            // Given
+            var user = userRepository.save(createUniqueUser(1));
+            userService.getByUserId(user.getUserId());
+            var request = new UserUpdateRequest("UPDATED_NAME", user.getSurname(), user.getBirthDate(), user.getEmail());
+
+            // When
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                userService.update(user.getUserId(), request);
+                // another connection does not see the update yet
+                var concurrent = CompletableFuture.supplyAsync(() -> userService.getByUserId(user.getUserId())).join();
+                assertEquals("TEST_NAME1", concurrent.name());
+            });
+
+            // Then
+            assertEquals("UPDATED_NAME", userService.getByUserId(user.getUserId()).name());
+        }
+
+        @Test
+        @DisplayName("Should not serve user read between delete and commit from cache")
+        void givenReadBeforeCommit_whenDeleteCommits_thenUserIsNotFound() {
+            // Given
+            var user = userRepository.save(createUniqueUser(1));
+            userService.getByUserId(user.getUserId());
+
+            // When
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                userService.delete(user.getUserId());
+                var concurrent = CompletableFuture.supplyAsync(() -> userService.getByUserId(user.getUserId())).join();
+                assertEquals(user.getUserId(), concurrent.userId());
+            });
+
+            // Then
+            assertThrows(UserNotFoundException.class, () -> userService.getByUserId(user.getUserId()));
+            assertThrows(UserNotFoundException.class, () -> userService.getByEmail(user.getEmail()));
+        }
+    }
+
+    private Authentication userAuthentication(String userId) {
+        return new UsernamePasswordAuthenticationToken(userId, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
     private User createTestUser() {
         User user = new User();
         user.setName("TEST_NAME");
@@ -0,0 +1,128 @@
+package com.innowise.userservice.grpc;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.innowise.userservice.generated.User;
+import com.innowise.userservice.generated.UserServiceGrpc;
+import com.innowise.userservice.security.JwtClaimsExtractor;
+import com.innowise.userservice.security.TokenValidationService;
+import io.grpc.*;
+import io.grpc.health.v1.HealthCheckRequest;
+import io.grpc.health.v1.HealthGrpc;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.protobuf.services.HealthStatusManager;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GrpcAuthenticationInterceptorTest {
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("authorization", Metadata.ASCII_STRING_MARSHALLER);
+
+    @Mock
+    private TokenValidationService tokenValidationService;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        var interceptor = new GrpcAuthenticationInterceptor(tokenValidationService, new JwtClaimsExtractor(),
+                true, Set.of(HealthGrpc.SERVICE_NAME));
+        var serverName = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(serverName)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(new PrincipalEchoService(), interceptor))
+                .addService(ServerInterceptors.intercept(new HealthStatusManager().getHealthService(), interceptor))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(serverName).directExecutor().build();
+    }
+
+    @AfterEach
+    void stopServer() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should pass claims of validated token to the service")
+    void givenValidToken_whenCall_thenServiceSeesPrincipal() {
+        // Given
+        var token = JWT.create().withSubject("USER_ID").withClaim("role", "ROLE_USER").sign(Algorithm.HMAC256("SECRET"));
+
+        // When
+        when(tokenValidationService.isValid(token)).thenReturn(true);
+
+        var response = stub("Bearer " + token).createUser(User.UserCreateRequest.getDefaultInstance());
+
+        // Then
+        assertEquals("USER_ID", response.getUserId());
+    }
+
+    @Test
+    @DisplayName("Should reject call without bearer token")
+    void givenNoToken_whenCall_thenReturnsUnauthenticated() {
+        // When
+        var exception = assertThrows(StatusRuntimeException.class,
+                () -> UserServiceGrpc.newBlockingStub(channel).createUser(User.UserCreateRequest.getDefaultInstance()));
+
+        // Then
+        assertEquals(Status.Code.UNAUTHENTICATED, exception.getStatus().getCode());
+        verifyNoInteractions(tokenValidationService);
+    }
+
+    @Test
+    @DisplayName("Should reject call with invalid token")
+    void givenInvalidToken_whenCall_thenReturnsUnauthenticated() {
+        // When
+        when(tokenValidationService.isValid("TOKEN")).thenReturn(false);
+
+        var exception = assertThrows(StatusRuntimeException.class,
+                () -> stub("Bearer TOKEN").createUser(User.UserCreateRequest.getDefaultInstance()));
+
+        // Then
+        assertEquals(Status.Code.UNAUTHENTICATED, exception.getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("Should not authenticate calls to public services")
+    void givenPublicService_whenCallWithoutToken_thenPasses() {
+        // When
+        var response = HealthGrpc.newBlockingStub(channel).check(HealthCheckRequest.getDefaultInstance());
+
+        // Then
+        assertNotNull(response.getStatus());
+        verifyNoInteractions(tokenValidationService);
+    }
+
+    private UserServiceGrpc.UserServiceBlockingStub stub(String authorization) {
+        var headers = new Metadata();
+        headers.put(AUTHORIZATION, authorization);
+        return UserServiceGrpc.newBlockingStub(channel)
+                .withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+    }
+
+    private static class PrincipalEchoService extends UserServiceGrpc.UserServiceImplBase {
+        @Override
+        public void createUser(User.UserCreateRequest request, StreamObserver<User.UserResponse> responseObserver) {
+            var claims = GrpcAuthenticationInterceptor.CLAIMS.get();
+            responseObserver.onNext(User.UserResponse.newBuilder().setUserId(claims.subject()).build());
+            responseObserver.onCompleted();
+        }
+    }
+}
@@ -3,9 +3,18 @@ package com.innowise.userservice.grpc;
 import com.innowise.userservice.exception.UserAlreadyExistsException;
 import com.innowise.userservice.generated.User;
 import com.innowise.userservice.dto.UserCreateRequest;
+import com.innowise.userservice.dto.UserImportResult;
+import com.innowise.userservice.dto.UserImportStatus;
 import com.innowise.userservice.dto.UserResponse;
+import com.innowise.userservice.exception.AccessDeniedException;
 import com.innowise.userservice.mapper.UserGrpcMapper;
+import com.innowise.userservice.security.JwtClaimsExtractor;
+import com.innowise.userservice.security.SecurityService;
+import com.innowise.userservice.service.UserImportService;
 import com.innowise.userservice.service.UserService;
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,8 +22,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.Mockito.*;
@@ -24,9 +35,15 @@ public class UserGrpcServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserImportService userImportService;
+
     @Mock
     private UserGrpcMapper userGrpcMapper;
 
+    @Mock
+    private SecurityService securityService;
+
     @Mock
     private StreamObserver<User.UserResponse> responseObserver;
 
@@ -141,4 +158,99 @@ public class UserGrpcServiceTest {
         verify(responseObserver, never()).onNext(any());
         verify(responseObserver, never()).onCompleted();
     }
+
+    @Test
+    @DisplayName("Should return permission denied when authenticated user creates user with another id")
+    void givenForeignUserId_whenCreateUser_thenReturnsStatusPermissionDenied() {
+        // Given
+        var userId = UUID.randomUUID().toString();
+
+        var request = new UserCreateRequest(
+                userId,
+                "TEST_NAME",
+                "TEST_SURNAME",
+                LocalDate.now().minusDays(1),
+                "TEST@EMAIL"
+        );
+
+        var grpcRequest = User.UserCreateRequest.newBuilder()
+                .setUserId(userId)
+                .build();
+
+        var claims = new JwtClaimsExtractor.JwtClaims("CALLER_ID", "ROLE_USER",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        // When
+        when(userGrpcMapper.toRequest(grpcRequest)).thenReturn(request);
+        when(securityService.canCreateUser("CALLER_ID", request))
+                .thenThrow(new AccessDeniedException("You do not have rights to create user with id not equals to yours"));
+
+        Context.current().withValue(GrpcAuthenticationInterceptor.CLAIMS, claims)
+                .run(() -> authGrpcService.createUser(grpcRequest, responseObserver));
+
+        // Then
+        verify(userService, never()).create(any());
+        verify(responseObserver, times(1)).onError(argThat(e ->
+                ((StatusRuntimeException) e).getStatus().getCode() == Status.Code.PERMISSION_DENIED));
+        verify(responseObserver, never()).onNext(any());
+    }
+
+    @Test
+    @DisplayName("Should import streamed users in chunks and stream back results")
+    @SuppressWarnings("unchecked")
+    void givenStreamedRequests_whenImportUsers_thenImportsInChunks() {
+        // Given
+        StreamObserver<User.UserImportResult> importObserver = mock(StreamObserver.class);
+        var grpcRequest = User.UserCreateRequest.newBuilder()
+                .setUserId(UUID.randomUUID().toString())
+                .build();
+        var request = new UserCreateRequest(
+                grpcRequest.getUserId(),
+                "TEST_NAME",
+                "TEST_SURNAME",
+                LocalDate.now().minusDays(1),
+                "TEST@EMAIL"
+        );
+        var result = new UserImportResult(1, request.userId(), UserImportStatus.CREATED, null);
+
+        // When
+        when(userImportService.getChunkSize()).thenReturn(2);
+        when(userGrpcMapper.toRequest(grpcRequest)).thenReturn(request);
+        when(userImportService.importChunk(anyList())).thenReturn(List.of(result, result), List.of(result));
+        when(userGrpcMapper.toImportResult(result)).thenReturn(User.UserImportResult.getDefaultInstance());
+
+        var requestObserver = authGrpcService.importUsers(importObserver);
+        requestObserver.onNext(grpcRequest);
+        requestObserver.onNext(grpcRequest);
+        requestObserver.onNext(grpcRequest);
+        requestObserver.onCompleted();
+
+        // Then
+        verify(userImportService, times(2)).importChunk(anyList());
+        verify(importObserver, times(3)).onNext(any());
+        verify(importObserver, times(1)).onCompleted();
+        verify(importObserver, never()).onError(any());
+    }
+
+    @Test
+    @DisplayName("Should return permission denied when non-admin imports users")
+    @SuppressWarnings("unchecked")
+    void givenNonAdmin_whenImportUsers_thenReturnsStatusPermissionDenied() throws Exception {
+        // Given
+        StreamObserver<User.UserImportResult> importObserver = mock(StreamObserver.class);
+        var claims = new JwtClaimsExtractor.JwtClaims("CALLER_ID", "ROLE_USER",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+        // When
+        var requestObserver = Context.current().withValue(GrpcAuthenticationInterceptor.CLAIMS, claims)
+                .call(() -> authGrpcService.importUsers(importObserver));
+        requestObserver.onNext(User.UserCreateRequest.getDefaultInstance());
+        requestObserver.onCompleted();
+
+        // Then
+        verify(userImportService, never()).importChunk(any());
+        verify(importObserver, times(1)).onError(argThat(e ->
+                ((StatusRuntimeException) e).getStatus().getCode() == Status.Code.PERMISSION_DENIED));
+        verify(importObserver, never()).onNext(any());
+    }
 }
@@ -0,0 +1,113 @@
+package com.innowise.userservice.pagination;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentPageCounterTest {
+    private ConcurrentPageCounter pageCounter;
+
+    @AfterEach
+    void shutdown() {
+        if (pageCounter != null) {
+            pageCounter.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should run count on another thread while content is read")
+    void givenEnabled_whenGetPage_thenCountsConcurrently() {
+        // Given
+        pageCounter = new ConcurrentPageCounter(true, 1, 0, null);
+        var countStarted = new CountDownLatch(1);
+        var countThread = new AtomicReference<Thread>();
+
+        // When
+        var page = pageCounter.getPage(() -> {
+            // the content waits for the count to start, so both run at the same time
+            assertDoesNotThrow(() -> assertTrue(countStarted.await(5, TimeUnit.SECONDS)));
+            return List.of(1, 2);
+        }, PageRequest.of(0, 2), () -> {
+            countThread.set(Thread.currentThread());
+            countStarted.countDown();
+            return 10;
+        });
+
+        // Then
+        assertEquals(10, page.getTotalElements());
+        assertEquals(List.of(1, 2), page.getContent());
+        assertNotEquals(Thread.currentThread(), countThread.get());
+    }
+
+    @Test
+    @DisplayName("Should count serially on calling thread when count threads are busy")
+    void givenBusyThreads_whenGetPage_thenCountsSerially() throws InterruptedException {
+        // Given
+        pageCounter = new ConcurrentPageCounter(true, 1, 0, null);
+        var release = new CountDownLatch(1);
+        var blockerStarted = new CountDownLatch(1);
+        var blocker = new Thread(() -> pageCounter.getPage(() -> {
+            assertDoesNotThrow(() -> release.await(5, TimeUnit.SECONDS));
+            return List.of(1);
+        }, PageRequest.of(0, 1), () -> {
+            blockerStarted.countDown();
+            assertDoesNotThrow(() -> release.await(5, TimeUnit.SECONDS));
+            return 1;
+        }));
+        blocker.start();
+        assertTrue(blockerStarted.await(5, TimeUnit.SECONDS));
+        var countThread = new AtomicReference<Thread>();
+
+        // When
+        var page = pageCounter.getPage(() -> List.of(1, 2), PageRequest.of(0, 2), () -> {
+            countThread.set(Thread.currentThread());
+            return 7;
+        });
+        release.countDown();
+        blocker.join();
+
+        // Then
+        assertEquals(7, page.getTotalElements());
+        assertEquals(Thread.currentThread(), countThread.get());
+    }
+
+    @Test
+    @DisplayName("Should not count when first page is shorter than page size")
+    void givenSerialCounterAndShortFirstPage_whenGetPage_thenSkipsCount() {
+        // Given
+        pageCounter = ConcurrentPageCounter.serial();
+        var counts = new AtomicInteger();
+
+        // When
+        var page = pageCounter.getPage(() -> List.of(1), PageRequest.of(0, 2), () -> {
+            counts.incrementAndGet();
+            return 1;
+        });
+
+        // Then
+        assertEquals(1, page.getTotalElements());
+        assertEquals(0, counts.get());
+    }
+
+    @Test
+    @DisplayName("Should rethrow count failure to the caller")
+    void givenFailingCount_whenGetPage_thenRethrows() {
+        // Given
+        pageCounter = new ConcurrentPageCounter(true, 1, 0, null);
+
+        // When, Then
+        assertThrows(IllegalArgumentException.class, () -> pageCounter.getPage(() -> List.of(1, 2), PageRequest.of(0, 2),
+                () -> {
+                    throw new IllegalArgumentException("count failed");
+                }));
+    }
+}
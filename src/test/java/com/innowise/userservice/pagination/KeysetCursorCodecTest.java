@@ -0,0 +1,90 @@
+package com.innowise.userservice.pagination;
+
+import com.innowise.userservice.exception.InvalidCursorException;
+import com.innowise.userservice.exception.InvalidSortFieldException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetCursorCodecTest {
+
+    @Test
+    @DisplayName("Should start from the first page sorted by field and id when cursor is absent")
+    void givenNoCursor_whenResolve_thenReturnsInitialPosition() {
+        // When
+        var keyset = KeysetCursorCodec.resolve(UserSortField.class, null, "surname", Sort.Direction.DESC);
+
+        // Then
+        assertEquals(UserSortField.SURNAME, keyset.field());
+        assertTrue(keyset.position().isInitial());
+        assertEquals(Sort.by(Sort.Direction.DESC, "surname", "id"), keyset.sort());
+    }
+
+    @Test
+    @DisplayName("Should restore field, direction and typed last key from encoded cursor")
+    void givenEncodedCursor_whenResolve_thenRestoresKeyset() {
+        // Given
+        var id = UUID.randomUUID();
+        var date = LocalDate.of(2030, 1, 31);
+        var keyset = new Keyset<>(CardSortField.EXPIRATION_DATE, Sort.Direction.DESC, ScrollPosition.keyset());
+        var cursor = KeysetCursorCodec.encode(keyset, ScrollPosition.forward(Map.of("expirationDate", date, "id", id)));
+
+        // When
+        var restored = KeysetCursorCodec.resolve(CardSortField.class, cursor, "id", Sort.Direction.ASC);
+
+        // Then
+        assertEquals(CardSortField.EXPIRATION_DATE, restored.field());
+        assertEquals(Sort.Direction.DESC, restored.direction());
+        assertEquals(Map.of("expirationDate", date, "id", id), restored.position().getKeys());
+    }
+
+    @Test
+    @DisplayName("Should keep only id in position when sorting by id")
+    void givenIdCursor_whenResolve_thenPositionHasOnlyId() {
+        // Given
+        var id = UUID.randomUUID();
+        var keyset = new Keyset<>(UserSortField.ID, Sort.Direction.ASC, ScrollPosition.keyset());
+        var cursor = KeysetCursorCodec.encode(keyset, ScrollPosition.forward(Map.of("id", id)));
+
+        // When
+        var restored = KeysetCursorCodec.resolve(UserSortField.class, cursor, null, Sort.Direction.ASC);
+
+        // Then
+        assertEquals(Map.of("id", id), restored.position().getKeys());
+        assertEquals(Sort.by(Sort.Direction.ASC, "id"), restored.sort());
+    }
+
+    @Test
+    @DisplayName("Should reject sort field outside of whitelist")
+    void givenUnknownSortField_whenResolve_thenThrowsInvalidSortFieldException() {
+        // When, Then
+        assertThrows(InvalidSortFieldException.class,
+                () -> KeysetCursorCodec.resolve(UserSortField.class, null, "name", Sort.Direction.ASC));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed or tampered cursor")
+    void givenMalformedCursor_whenResolve_thenThrowsInvalidCursorException() {
+        // Given
+        var foreignField = Base64.getUrlEncoder().encodeToString(
+                "{\"f\":\"email\",\"d\":\"ASC\",\"v\":\"a@b.c\",\"id\":\"%s\"}".formatted(UUID.randomUUID()).getBytes());
+        var badValue = Base64.getUrlEncoder().encodeToString(
+                "{\"f\":\"expirationDate\",\"d\":\"ASC\",\"v\":\"yesterday\",\"id\":\"%s\"}".formatted(UUID.randomUUID()).getBytes());
+
+        // When, Then
+        assertThrows(InvalidCursorException.class,
+                () -> KeysetCursorCodec.resolve(CardSortField.class, "NOT_A_CURSOR", null, Sort.Direction.ASC));
+        assertThrows(InvalidCursorException.class,
+                () -> KeysetCursorCodec.resolve(CardSortField.class, foreignField, null, Sort.Direction.ASC));
+        assertThrows(InvalidCursorException.class,
+                () -> KeysetCursorCodec.resolve(CardSortField.class, badValue, null, Sort.Direction.ASC));
+    }
+}
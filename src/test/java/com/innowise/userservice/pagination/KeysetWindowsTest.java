@@ -0,0 +1,85 @@
+package com.innowise.userservice.pagination;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetWindowsTest {
+
+    @Test
+    @DisplayName("Should seek past field and id with one row value comparison")
+    void givenPositionOnSortField_whenWhere_thenRendersRowValueComparison() {
+        // Given
+        var keyset = new Keyset<>(UserSortField.SURNAME, Sort.Direction.ASC,
+                ScrollPosition.forward(Map.of("surname", "SURNAME", "id", UUID.randomUUID())));
+
+        // When, Then
+        assertEquals("where (u.surname, u.id) > (:value, :id)", KeysetWindows.where(keyset, "u"));
+        assertEquals("u.surname asc, u.id asc", KeysetWindows.orderBy(keyset, "u"));
+    }
+
+    @Test
+    @DisplayName("Should seek backwards by id only when sorting descending by id")
+    void givenDescendingIdPosition_whenWhere_thenComparesIdOnly() {
+        // Given
+        var keyset = new Keyset<>(CardSortField.ID, Sort.Direction.DESC,
+                ScrollPosition.forward(Map.of("id", UUID.randomUUID())));
+
+        // When, Then
+        assertEquals("where c.id < :id", KeysetWindows.where(keyset, "c"));
+        assertEquals("c.id desc", KeysetWindows.orderBy(keyset, "c"));
+    }
+
+    @Test
+    @DisplayName("Should seek by unique field alone without id")
+    void givenPositionOnUniqueField_whenWhere_thenComparesFieldOnly() {
+        // Given
+        var keyset = new Keyset<>(UserSortField.EMAIL, Sort.Direction.ASC,
+                ScrollPosition.forward(Map.of("email", "TEST@EMAIL", "id", UUID.randomUUID())));
+
+        // When, Then
+        assertEquals("where u.email > :value", KeysetWindows.where(keyset, "u"));
+        assertEquals("u.email asc", KeysetWindows.orderBy(keyset, "u"));
+    }
+
+    @Test
+    @DisplayName("Should not restrict the first window")
+    void givenInitialPosition_whenWhere_thenReturnsEmpty() {
+        // Given
+        var keyset = new Keyset<>(UserSortField.BIRTH_DATE, Sort.Direction.ASC, ScrollPosition.keyset());
+
+        // When, Then
+        assertEquals("", KeysetWindows.where(keyset, "u"));
+    }
+
+    @Test
+    @DisplayName("Should drop the extra row and report the key of the last row of the window")
+    void givenExtraRow_whenWindow_thenHasNextAndLastPosition() {
+        // Given
+        var keyset = new Keyset<>(CardSortField.EXPIRATION_DATE, Sort.Direction.ASC, ScrollPosition.keyset());
+        var first = new Row(UUID.randomUUID(), LocalDate.of(2030, 1, 1));
+        var second = new Row(UUID.randomUUID(), LocalDate.of(2030, 2, 1));
+        var extra = new Row(UUID.randomUUID(), LocalDate.of(2030, 3, 1));
+
+        // When
+        var window = KeysetWindows.window(List.of(first, second, extra), 2, keyset, Row::date, Row::id);
+
+        // Then
+        assertTrue(window.hasNext());
+        assertEquals(List.of(first, second), window.getContent());
+        assertEquals(Map.of("expirationDate", second.date(), "id", second.id()),
+                ((KeysetScrollPosition) window.positionAt(1)).getKeys());
+    }
+
+    private record Row(UUID id, LocalDate date) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.innowise.userservice.pagination;
+
+import com.innowise.userservice.exception.InvalidSortFieldException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffsetPagesTest {
+    private static final List<String> PROPERTIES = List.of("id", "name", "surname", "email");
+
+    @Test
+    @DisplayName("Should append id as tie breaker to requested order")
+    void givenSortByField_whenOrderBy_thenAppendsId() {
+        // When
+        var orderBy = OffsetPages.orderBy(PROPERTIES, Sort.by(Sort.Direction.DESC, "surname"), "u");
+
+        // Then
+        assertEquals("u.surname desc, u.id asc", orderBy);
+    }
+
+    @Test
+    @DisplayName("Should accept listed property that is not a keyset sort field")
+    void givenSortByNonKeysetProperty_whenOrderBy_thenOrdersByIt() {
+        // When
+        var orderBy = OffsetPages.orderBy(PROPERTIES, Sort.by("name"), "u");
+
+        // Then
+        assertEquals("u.name asc, u.id asc", orderBy);
+    }
+
+    @Test
+    @DisplayName("Should order by id only when sort is absent")
+    void givenUnsorted_whenOrderBy_thenOrdersById() {
+        // When
+        var orderBy = OffsetPages.orderBy(PROPERTIES, Sort.unsorted(), "c");
+
+        // Then
+        assertEquals("c.id asc", orderBy);
+    }
+
+    @Test
+    @DisplayName("Should drop orders after id")
+    void givenOrdersAfterId_whenOrderBy_thenStopsAtId() {
+        // When
+        var orderBy = OffsetPages.orderBy(PROPERTIES, Sort.by(Sort.Order.desc("id"), Sort.Order.asc("email")), "p");
+
+        // Then
+        assertEquals("p.id desc", orderBy);
+    }
+
+    @Test
+    @DisplayName("Should reject sort by property that is not listed")
+    void givenUnknownField_whenOrderBy_thenThrowsInvalidSortFieldException() {
+        // When, Then
+        assertThrows(InvalidSortFieldException.class,
+                () -> OffsetPages.orderBy(PROPERTIES, Sort.by("name; drop table users"), "u"));
+    }
+
+    @Test
+    @DisplayName("Should cut extra row and report next page")
+    void givenExtraRow_whenSlice_thenHasNext() {
+        // Given
+        var pageable = PageRequest.of(1, 2);
+
+        // When
+        var slice = OffsetPages.slice(List.of(1, 2, 3), pageable);
+
+        // Then
+        assertEquals(3, OffsetPages.limit(pageable));
+        assertEquals(2, OffsetPages.offset(pageable));
+        assertEquals(List.of(1, 2), slice.getContent());
+        assertTrue(slice.hasNext());
+    }
+
+    @Test
+    @DisplayName("Should report last page when there's no extra row")
+    void givenNoExtraRow_whenSlice_thenHasNoNext() {
+        // When
+        var slice = OffsetPages.slice(List.of(1, 2), PageRequest.of(0, 2));
+
+        // Then
+        assertEquals(List.of(1, 2), slice.getContent());
+        assertFalse(slice.hasNext());
+    }
+}
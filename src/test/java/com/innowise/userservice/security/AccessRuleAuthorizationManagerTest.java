@@ -0,0 +1,203 @@
+package com.innowise.userservice.security;
+
+import com.innowise.userservice.controller.CardController;
+import com.innowise.userservice.controller.UserController;
+import com.innowise.userservice.dto.CardCreateRequest;
+import com.innowise.userservice.dto.UserCreateRequest;
+import com.innowise.userservice.exception.AccessDeniedException;
+import com.innowise.userservice.pagination.CountMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccessRuleAuthorizationManagerTest {
+    private static final String USER_ID = "USER_ID";
+
+    @Mock
+    private SecurityService securityService;
+
+    @Mock
+    private ListableBeanFactory beanFactory;
+
+    @InjectMocks
+    private AccessRuleAuthorizationManager authorizationManager;
+
+    @Nested
+    @DisplayName("Rule compilation")
+    class CompileTests {
+        @Test
+        @DisplayName("Should compile rules of all annotated controller methods")
+        void givenControllers_whenCompile_thenEveryAuthorizeRuleFindsItsArgument() {
+            // Given
+            var methods = Arrays.stream(new Class<?>[]{UserController.class, CardController.class})
+                    .flatMap(controller -> Arrays.stream(controller.getDeclaredMethods()))
+                    .filter(method -> method.isAnnotationPresent(Authorize.class))
+                    .toList();
+
+            // When, Then
+            assertFalse(methods.isEmpty());
+            methods.forEach(method -> assertDoesNotThrow(() -> AccessRuleAuthorizationManager.compile(method)));
+        }
+
+        @Test
+        @DisplayName("Should throw IllegalStateException when method has no argument for the rule")
+        void givenMethodWithoutRuleArgument_whenCompile_thenThrowsIllegalStateException() throws NoSuchMethodException {
+            // Given
+            var method = RuleTarget.class.getDeclaredMethod("withoutCardId", String.class);
+
+            // When, Then
+            assertThrows(IllegalStateException.class, () -> AccessRuleAuthorizationManager.compile(method));
+        }
+    }
+
+    @Nested
+    @DisplayName("Startup compilation")
+    class StartupTests {
+        @Test
+        @DisplayName("Should compile rules of annotated bean methods at startup")
+        void givenBeanWithValidRule_whenAfterSingletonsInstantiated_thenDoesNotThrow() {
+            // Given
+            var beans = new StaticListableBeanFactory();
+            beans.addBean("validTarget", new ValidTarget());
+            var manager = new AccessRuleAuthorizationManager(securityService, beans);
+
+            // When, Then
+            assertDoesNotThrow(manager::afterSingletonsInstantiated);
+        }
+
+        @Test
+        @DisplayName("Should fail startup when bean method has no argument for the rule")
+        void givenBeanWithInvalidRule_whenAfterSingletonsInstantiated_thenThrowsIllegalStateException() {
+            // Given
+            var beans = new StaticListableBeanFactory();
+            beans.addBean("ruleTarget", new RuleTarget());
+            var manager = new AccessRuleAuthorizationManager(securityService, beans);
+
+            // When, Then
+            assertThrows(IllegalStateException.class, manager::afterSingletonsInstantiated);
+        }
+    }
+
+    @Nested
+    @DisplayName("Rule checks")
+    class CheckTests {
+        @Test
+        @DisplayName("Should grant admin without checking rule arguments")
+        void givenAdmin_whenCheck_thenGrants() throws NoSuchMethodException {
+            // Given
+            var invocation = invocation(UserController.class.getDeclaredMethod("create", UserCreateRequest.class),
+                    (Object) null);
+
+            // When
+            var decision = authorizationManager.authorize(() -> authentication("ADMIN_ID", "ROLE_ADMIN"), invocation);
+
+            // Then
+            assertTrue(decision.isGranted());
+            verifyNoInteractions(securityService);
+        }
+
+        @Test
+        @DisplayName("Should deny admin-only method for user")
+        void givenUser_whenCheckAdminRule_thenDenies() throws NoSuchMethodException {
+            // Given
+            var invocation = invocation(UserController.class.getDeclaredMethod("getUsers", Pageable.class, CountMode.class),
+                    Pageable.unpaged(), CountMode.EXACT);
+
+            // When
+            var decision = authorizationManager.authorize(() -> authentication(USER_ID, "ROLE_USER"), invocation);
+
+            // Then
+            assertFalse(decision.isGranted());
+        }
+
+        @Test
+        @DisplayName("Should grant user access to own id and deny to another id")
+        void givenUser_whenCheckSelfRule_thenComparesIdWithPrincipal() throws NoSuchMethodException {
+            // Given
+            var method = UserController.class.getDeclaredMethod("getById", String.class);
+
+            // When
+            var own = authorizationManager.authorize(() -> authentication(USER_ID, "ROLE_USER"),
+                    invocation(method, USER_ID));
+            var another = authorizationManager.authorize(() -> authentication(USER_ID, "ROLE_USER"),
+                    invocation(method, "ANOTHER_USER_ID"));
+
+            // Then
+            assertTrue(own.isGranted());
+            assertFalse(another.isGranted());
+        }
+
+        @Test
+        @DisplayName("Should delegate card creation check to security service")
+        void givenUser_whenCheckCardCreationRule_thenDelegatesToSecurityService() throws NoSuchMethodException {
+            // Given
+            var request = new CardCreateRequest(USER_ID, "1234567812345678", "HOLDER", null);
+            var invocation = invocation(CardController.class.getDeclaredMethod("create", CardCreateRequest.class),
+                    request);
+
+            // When
+            when(securityService.canCreateCard(USER_ID, request)).thenReturn(true);
+
+            var decision = authorizationManager.authorize(() -> authentication(USER_ID, "ROLE_USER"), invocation);
+
+            // Then
+            assertTrue(decision.isGranted());
+        }
+
+        @Test
+        @DisplayName("Should propagate AccessDeniedException from card owner check")
+        void givenForeignCard_whenCheckCardOwnerRule_thenThrowsAccessDeniedException() throws NoSuchMethodException {
+            // Given
+            var cardId = UUID.randomUUID();
+            var invocation = invocation(CardController.class.getDeclaredMethod("getById", UUID.class), cardId);
+
+            // When
+            when(securityService.canAccessCard(USER_ID, cardId))
+                    .thenThrow(new AccessDeniedException("You do not have rights to access this card"));
+
+            // Then
+            assertThrows(AccessDeniedException.class,
+                    () -> authorizationManager.authorize(() -> authentication(USER_ID, "ROLE_USER"), invocation));
+        }
+    }
+
+    private static SimpleMethodInvocation invocation(Method method, Object... arguments) {
+        return new SimpleMethodInvocation(null, method, arguments);
+    }
+
+    private static Authentication authentication(String userId, String role) {
+        return new UsernamePasswordAuthenticationToken(userId, null, List.of(new SimpleGrantedAuthority(role)));
+    }
+
+    static class RuleTarget {
+        @Authorize(AccessRule.ADMIN_OR_CARD_OWNER)
+        void withoutCardId(String userId) {
+        }
+    }
+
+    static class ValidTarget {
+        @Authorize(AccessRule.ADMIN_OR_SELF)
+        void getById(String userId) {
+        }
+    }
+}
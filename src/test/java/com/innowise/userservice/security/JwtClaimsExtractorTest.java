@@ -0,0 +1,76 @@
+package com.innowise.userservice.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtClaimsExtractorTest {
+    private final JwtClaimsExtractor claimsExtractor = new JwtClaimsExtractor();
+
+    @Test
+    @DisplayName("Should extract subject and role authority from token payload")
+    void givenTokenWithSubjectAndRole_whenExtract_thenReturnsClaims() {
+        // Given
+        var token = JWT.create()
+                .withClaim("details", Map.of("nested", List.of(1, 2)))
+                .withSubject("123")
+                .withClaim("role", "ROLE_ADMIN")
+                .withExpiresAt(Instant.now())
+                .sign(Algorithm.HMAC256("SECRET"));
+
+        // When
+        var claims = claimsExtractor.extract(token);
+
+        // Then
+        assertNotNull(claims);
+        assertEquals("123", claims.subject());
+        assertEquals("ROLE_ADMIN", claims.role());
+        assertEquals(List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), claims.authorities());
+    }
+
+    @Test
+    @DisplayName("Should reuse authority list for tokens with the same role")
+    void givenTokensWithSameRole_whenExtract_thenReturnsSameAuthorities() {
+        // Given
+        var firstToken = JWT.create().withSubject("1").withClaim("role", "USER").sign(Algorithm.HMAC256("SECRET"));
+        var secondToken = JWT.create().withSubject("2").withClaim("role", "USER").sign(Algorithm.HMAC256("SECRET"));
+
+        // When
+        var first = claimsExtractor.extract(firstToken);
+        var second = claimsExtractor.extract(secondToken);
+
+        // Then
+        assertSame(first.authorities(), second.authorities());
+    }
+
+    @Test
+    @DisplayName("Should return empty authorities when token has no role")
+    void givenTokenWithoutRole_whenExtract_thenReturnsEmptyAuthorities() {
+        // Given
+        var token = JWT.create().withSubject("123").sign(Algorithm.HMAC256("SECRET"));
+
+        // When
+        var claims = claimsExtractor.extract(token);
+
+        // Then
+        assertEquals("123", claims.subject());
+        assertTrue(claims.authorities().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return null when token is malformed")
+    void givenMalformedToken_whenExtract_thenReturnsNull() {
+        // When, Then
+        assertNull(claimsExtractor.extract("TOKEN"));
+        assertNull(claimsExtractor.extract("HEADER.!!!.SIGNATURE"));
+        assertNull(claimsExtractor.extract("HEADER.W10.SIGNATURE"));
+    }
+}
@@ -2,9 +2,6 @@ package com.innowise.userservice.security;
 
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
-import com.innowise.userservice.client.AuthServiceClient;
-import com.innowise.userservice.dto.ApiResponse;
-import com.innowise.userservice.dto.ValidateTokenRequest;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -39,7 +37,10 @@ class JwtFilterTest {
     private FilterChain filterChain;
 
     @Mock
-    private AuthServiceClient authServiceClient;
+    private TokenValidationService tokenValidationService;
+
+    @Spy
+    private JwtClaimsExtractor claimsExtractor = new JwtClaimsExtractor();
 
     @InjectMocks
     private JwtFilter jwtFilter;
@@ -87,14 +88,9 @@ class JwtFilterTest {
                 .withExpiresAt(Instant.now().plus(1, ChronoUnit.DAYS))
                 .sign(Algorithm.HMAC256("SECRET"));
 
-        var authResponse = ApiResponse.<Boolean>builder()
-                .success(true)
-                .data(true)
-                .build();
-
         // When
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(authServiceClient.validate(any(ValidateTokenRequest.class))).thenReturn(authResponse);
+        when(tokenValidationService.isValid(token)).thenReturn(true);
 
         jwtFilter.doFilterInternal(request, response, filterChain);
 
@@ -112,14 +108,9 @@ class JwtFilterTest {
         // Given
         var token = "TOKEN";
 
-        var authResponse = ApiResponse.<Boolean>builder()
-                .success(true)
-                .data(false)
-                .build();
-
         // When
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(authServiceClient.validate(any(ValidateTokenRequest.class))).thenReturn(authResponse);
+        when(tokenValidationService.isValid(token)).thenReturn(false);
 
         jwtFilter.doFilterInternal(request, response, filterChain);
 
@@ -129,19 +120,21 @@ class JwtFilterTest {
     }
 
     @Test
-    @DisplayName("Should continue filter chain without authentication when authServiceClient throws exception")
-    void givenAuthServiceException_whenDoFilterInternal_thenContinueWithoutAuthentication() throws ServletException, IOException {
+    @DisplayName("Should continue filter chain without authentication when validated token has no readable subject")
+    void givenValidatedTokenWithoutSubject_whenDoFilterInternal_thenContinueWithoutAuthentication() throws ServletException, IOException {
         // Given
-        var token = "TOKEN";
+        var token = JWT.create()
+                .withClaim("role", "USER")
+                .sign(Algorithm.HMAC256("SECRET"));
 
+        // When
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(authServiceClient.validate(any(ValidateTokenRequest.class))).thenThrow(new RuntimeException());
+        when(tokenValidationService.isValid(token)).thenReturn(true);
 
-        // When
         jwtFilter.doFilterInternal(request, response, filterChain);
 
         // Then
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
     }
-}
\ No newline at end of file
+}
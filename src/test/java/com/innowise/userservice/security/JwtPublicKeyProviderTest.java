@@ -0,0 +1,116 @@
+package com.innowise.userservice.security;
+
+import com.innowise.userservice.client.AuthServiceClient;
+import com.innowise.userservice.dto.JwksResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtPublicKeyProviderTest {
+    @Mock
+    private AuthServiceClient authServiceClient;
+
+    private JwtPublicKeyProvider publicKeyProvider;
+    private KeyPair keyPair;
+
+    @BeforeEach
+    void setUp() throws NoSuchAlgorithmException {
+        keyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        publicKeyProvider = new JwtPublicKeyProvider(authServiceClient, new DefaultResourceLoader());
+        ReflectionTestUtils.setField(publicKeyProvider, "mode", TokenValidationMode.LOCAL);
+        ReflectionTestUtils.setField(publicKeyProvider, "publicKeyLocation", "");
+    }
+
+    @Test
+    @DisplayName("Should load RSA keys from auth-service JWKS by key id")
+    void givenJwks_whenRefresh_thenLoadsKeysByKeyId() {
+        // When
+        when(authServiceClient.getJwks()).thenReturn(jwksOf((RSAPublicKey) keyPair.getPublic()));
+
+        publicKeyProvider.refresh();
+
+        // Then
+        assertEquals(keyPair.getPublic(), publicKeyProvider.getPublicKeyById("KEY_ID"));
+        assertEquals(keyPair.getPublic(), publicKeyProvider.getPublicKeyById(null));
+        assertNull(publicKeyProvider.getPublicKeyById("OTHER_KEY_ID"));
+    }
+
+    @Test
+    @DisplayName("Should keep previously loaded keys when refresh fails")
+    void givenLoadedKeys_whenRefreshFails_thenKeepsKeys() {
+        // When
+        when(authServiceClient.getJwks())
+                .thenReturn(jwksOf((RSAPublicKey) keyPair.getPublic()))
+                .thenThrow(new RuntimeException());
+
+        publicKeyProvider.refresh();
+        publicKeyProvider.refresh();
+
+        // Then
+        assertEquals(keyPair.getPublic(), publicKeyProvider.getPublicKeyById("KEY_ID"));
+    }
+
+    @Test
+    @DisplayName("Should load static key from PEM file instead of JWKS")
+    void givenPublicKeyFile_whenRefresh_thenLoadsKeyFromFile(@TempDir Path directory) throws IOException {
+        // Given
+        var file = directory.resolve("public.pem");
+        Files.writeString(file, "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder().encodeToString(keyPair.getPublic().getEncoded())
+                + "\n-----END PUBLIC KEY-----\n");
+        ReflectionTestUtils.setField(publicKeyProvider, "publicKeyLocation", file.toUri().toString());
+
+        // When
+        publicKeyProvider.refresh();
+
+        // Then
+        assertEquals(keyPair.getPublic(), publicKeyProvider.getPublicKeyById(null));
+        verify(authServiceClient, never()).getJwks();
+    }
+
+    @Test
+    @DisplayName("Should not fetch keys in remote validation mode without local fallback")
+    void givenRemoteMode_whenRefresh_thenDoesNotFetchKeys() {
+        // Given
+        ReflectionTestUtils.setField(publicKeyProvider, "mode", TokenValidationMode.REMOTE);
+        ReflectionTestUtils.setField(publicKeyProvider, "localFallback", false);
+
+        // When
+        publicKeyProvider.refresh();
+
+        // Then
+        verify(authServiceClient, never()).getJwks();
+        assertNull(publicKeyProvider.getPublicKeyById(null));
+    }
+
+    private JwksResponse jwksOf(RSAPublicKey publicKey) {
+        var encoder = Base64.getUrlEncoder().withoutPadding();
+        return new JwksResponse(List.of(new JwksResponse.Key(
+                "RSA",
+                "KEY_ID",
+                "RS256",
+                encoder.encodeToString(publicKey.getModulus().toByteArray()),
+                encoder.encodeToString(publicKey.getPublicExponent().toByteArray())
+        )));
+    }
+}
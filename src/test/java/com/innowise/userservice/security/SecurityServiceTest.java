@@ -1,11 +1,12 @@
 package com.innowise.userservice.security;
 
+import com.innowise.userservice.cache.CacheNames;
 import com.innowise.userservice.dto.CardCreateRequest;
 import com.innowise.userservice.dto.UserCreateRequest;
 import com.innowise.userservice.entity.Card;
 import com.innowise.userservice.entity.User;
 import com.innowise.userservice.exception.AccessDeniedException;
-import com.innowise.userservice.repository.CardRepository;
+import com.innowise.userservice.service.CardLookup;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -13,19 +14,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 import java.time.LocalDate;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class SecurityServiceTest {
     @Mock
-    private CardRepository cardRepository;
+    private CardLookup cardLookup;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache ownerCache;
 
     @InjectMocks
     private SecurityService securityService;
@@ -129,16 +139,9 @@ class SecurityServiceTest {
             // Given
             var userId = UUID.randomUUID().toString();
             var cardId = UUID.randomUUID();
-            var card = new Card(
-                    cardId,
-                    getUserWithUserId(userId),
-                    "TEST_NUMBER",
-                    "TEST_HOLDER",
-                    LocalDate.now().plusDays(1)
-            );
 
             // When
-            when(cardRepository.findCardById(cardId)).thenReturn(Optional.of(card));
+            when(cardLookup.findById(cardId)).thenReturn(Optional.of(createCard(cardId, userId)));
             var result = securityService.canAccessCard(userId, cardId);
 
             // Then
@@ -150,18 +153,52 @@ class SecurityServiceTest {
         void givenDifferentId_whenCanAccessCard_thenThrowsException() {
             // Given
             var userId = UUID.randomUUID().toString();
-            var card = new Card(
-                    UUID.randomUUID(),
-                    getUserWithUserId(userId),
-                    "TEST_NUMBER",
-                    "TEST_HOLDER",
-                    LocalDate.now().plusDays(1)
-            );
+            var cardId = UUID.randomUUID();
 
             // When, Then
-            when(cardRepository.findCardById(card.getId())).thenReturn(Optional.of(card));
+            when(cardLookup.findById(cardId)).thenReturn(Optional.of(createCard(cardId, userId)));
             assertThrows(AccessDeniedException.class,
-                    () -> securityService.canAccessCard(UUID.randomUUID().toString(), card.getId()));
+                    () -> securityService.canAccessCard(UUID.randomUUID().toString(), cardId));
+        }
+
+        @Test
+        @DisplayName("Should authorize owner from cache without querying database")
+        void givenCachedOwner_whenCanAccessCard_thenReturnTrue() {
+            // Given
+            var userId = UUID.randomUUID().toString();
+            var cardId = UUID.randomUUID();
+
+            // When
+            when(cacheManager.getCache(CacheNames.CARD_OWNER_CACHE)).thenReturn(ownerCache);
+            when(ownerCache.get(eq(cardId.toString()), any(Callable.class))).thenReturn(userId);
+            var result = securityService.canAccessCard(userId, cardId);
+
+            // Then
+            assertTrue(result);
+
+            verify(cardLookup, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when card does not exist")
+        void givenNonExistingCard_whenCanAccessCard_thenThrowsException() {
+            // Given
+            var cardId = UUID.randomUUID();
+
+            // When
+            when(cacheManager.getCache(CacheNames.CARD_OWNER_CACHE)).thenReturn(ownerCache);
+            when(ownerCache.get(eq(cardId.toString()), any(Callable.class))).thenAnswer(invocation -> {
+                try {
+                    return invocation.<Callable<?>>getArgument(1).call();
+                } catch (Exception e) {
+                    throw new Cache.ValueRetrievalException(cardId, invocation.getArgument(1), e);
+                }
+            });
+            when(cardLookup.findById(cardId)).thenReturn(Optional.empty());
+
+            // Then
+            assertThrows(AccessDeniedException.class,
+                    () -> securityService.canAccessCard(UUID.randomUUID().toString(), cardId));
         }
 
         @Test
@@ -190,6 +227,15 @@ class SecurityServiceTest {
         );
     }
 
+    private Card createCard(UUID cardId, String userId) {
+        var user = new User();
+        user.setUserId(userId);
+        var card = new Card();
+        card.setId(cardId);
+        card.setUser(user);
+        return card;
+    }
+
     private CardCreateRequest getCardCreateRequest() {
         return new CardCreateRequest(
                 UUID.randomUUID().toString(),
@@ -198,17 +244,4 @@ class SecurityServiceTest {
                 LocalDate.now().plusDays(1)
         );
     }
-
-    private User getUserWithUserId(String userId) {
-        return new User(
-                UUID.randomUUID(),
-                userId,
-                "TEST_NAME",
-                "TEST_SURNAME",
-                LocalDate.now().minusDays(1),
-                "test",
-                null
-        );
-    }
 }
-
@@ -0,0 +1,175 @@
+package com.innowise.userservice.security;
+
+import com.innowise.userservice.client.AuthServiceClient;
+import com.innowise.userservice.client.AuthServiceStub;
+import com.innowise.userservice.dto.ApiResponse;
+import com.innowise.userservice.dto.ValidateTokensRequest;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenValidationBatcherTest {
+    private AuthServiceStub authService;
+    private TokenValidationBatcher batcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        authService = new AuthServiceStub();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.shutdown();
+        }
+        authService.close();
+    }
+
+    @Test
+    @DisplayName("Should send concurrent validations as batches and return each caller its own result")
+    void givenConcurrentValidations_whenValidate_thenSendsBatchesWithPerTokenResults() throws Exception {
+        // Given
+        batcher = createBatcher(authService.client(), 100, 50);
+        var tokens = new ArrayList<String>();
+        for (int i = 0; i < 20; i++) {
+            var token = "TOKEN_" + i;
+            tokens.add(token);
+            if (i % 2 == 0) {
+                authService.addValidToken(token);
+            }
+        }
+
+        // When
+        var results = validateConcurrently(tokens);
+
+        // Then
+        for (int i = 0; i < tokens.size(); i++) {
+            assertEquals(i % 2 == 0, results.get(i), tokens.get(i));
+        }
+        var batches = authService.getBatchRequests();
+        assertTrue(batches.size() < tokens.size());
+        assertEquals(tokens.size(), batches.stream().mapToInt(List::size).sum());
+        assertEquals(0, authService.getSingleRequests());
+    }
+
+    @Test
+    @DisplayName("Should not put more than max-size tokens into one batch")
+    void givenMoreTokensThanMaxSize_whenValidate_thenSplitsIntoBatches() throws Exception {
+        // Given
+        batcher = createBatcher(authService.client(), 4, 50);
+        var tokens = List.of("T1", "T2", "T3", "T4", "T5", "T6", "T7", "T8", "T9", "T10");
+
+        // When
+        validateConcurrently(tokens);
+
+        // Then
+        var batches = authService.getBatchRequests();
+        assertTrue(batches.size() >= 3);
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 4));
+        assertEquals(tokens.size(), batches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    @DisplayName("Should fail validation when auth service returns results for another number of tokens")
+    void givenMismatchedBatchResponse_whenValidate_thenThrowsException() {
+        // Given
+        var authServiceClient = mock(AuthServiceClient.class);
+        batcher = createBatcher(authServiceClient, 100, 1);
+
+        // When
+        when(authServiceClient.validateBatch(any(ValidateTokensRequest.class)))
+                .thenReturn(ApiResponse.success("Tokens validated", List.of(true, true)));
+
+        // Then
+        assertThrows(CompletionException.class, () -> batcher.validate("TOKEN").join());
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalStateException when batching is disabled")
+    void givenDisabledBatching_whenValidate_thenThrowsIllegalStateException() {
+        // Given
+        batcher = new TokenValidationBatcher(authService.client(), circuitBreakerFactory(), new SimpleMeterRegistry(),
+                false, 100, 5, 4, 100, 2000);
+
+        // When, Then
+        assertFalse(batcher.isEnabled());
+        assertThrows(IllegalStateException.class, () -> batcher.validate("TOKEN"));
+    }
+
+    @Test
+    @DisplayName("Should return future without waiting for the batch and fail it after wait timeout")
+    void givenUnansweredBatch_whenValidate_thenReturnsRightAwayAndTimesOut() {
+        // Given
+        var authServiceClient = mock(AuthServiceClient.class);
+        var answer = new CountDownLatch(1);
+        batcher = new TokenValidationBatcher(authServiceClient, circuitBreakerFactory(), new SimpleMeterRegistry(),
+                true, 100, 1, 4, 100, 100);
+
+        // When
+        when(authServiceClient.validateBatch(any(ValidateTokensRequest.class))).thenAnswer(invocation -> {
+            answer.await();
+            return ApiResponse.success("Tokens validated", List.of(true));
+        });
+        var result = batcher.validate("TOKEN");
+
+        // Then
+        assertFalse(result.isDone());
+        var exception = assertThrows(CompletionException.class, result::join);
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        answer.countDown();
+    }
+
+    private List<Boolean> validateConcurrently(List<String> tokens) throws Exception {
+        var executor = Executors.newFixedThreadPool(tokens.size());
+        try {
+            var start = new CountDownLatch(1);
+            var futures = new ArrayList<Future<Boolean>>();
+            for (var token : tokens) {
+                Callable<Boolean> validation = () -> {
+                    start.await();
+                    return batcher.validate(token).get();
+                };
+                futures.add(executor.submit(validation));
+            }
+            start.countDown();
+
+            var results = new ArrayList<Boolean>();
+            for (var future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private TokenValidationBatcher createBatcher(AuthServiceClient authServiceClient, int maxBatchSize, long maxDelay) {
+        return new TokenValidationBatcher(authServiceClient, circuitBreakerFactory(), new SimpleMeterRegistry(),
+                true, maxBatchSize, maxDelay, 4, 100, 2000);
+    }
+
+    private static Resilience4JCircuitBreakerFactory circuitBreakerFactory() {
+        return new Resilience4JCircuitBreakerFactory(CircuitBreakerRegistry.ofDefaults(),
+                TimeLimiterRegistry.ofDefaults(), null);
+    }
+}
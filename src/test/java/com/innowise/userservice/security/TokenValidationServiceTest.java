@@ -0,0 +1,298 @@
+package com.innowise.userservice.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.innowise.userservice.client.AuthServiceClient;
+import com.innowise.userservice.dto.ApiResponse;
+import com.innowise.userservice.dto.ValidateTokenRequest;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JCircuitBreakerFactory;
+
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenValidationServiceTest {
+    @Mock
+    private AuthServiceClient authServiceClient;
+
+    @Mock
+    private JwtPublicKeyProvider publicKeyProvider;
+
+    @Mock
+    private TokenValidationBatcher batcher;
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private Resilience4JCircuitBreakerFactory circuitBreakerFactory;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenValidationService tokenValidationService;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        circuitBreakerFactory = new Resilience4JCircuitBreakerFactory(circuitBreakerRegistry,
+                TimeLimiterRegistry.ofDefaults(), null);
+        meterRegistry = new SimpleMeterRegistry();
+        tokenValidationService = new TokenValidationService(authServiceClient, circuitBreakerFactory, publicKeyProvider, batcher,
+                meterRegistry, TokenValidationMode.REMOTE, 100, 300, 5);
+    }
+
+    @Test
+    @DisplayName("Should validate token remotely only once while it is cached")
+    void givenValidToken_whenIsValidTwice_thenCallsAuthServiceOnce() {
+        // Given
+        var token = createToken(Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // When
+        when(authServiceClient.validate(any(ValidateTokenRequest.class))).thenReturn(validationResponse(true));
+
+        var first = tokenValidationService.isValid(token);
+        var second = tokenValidationService.isValid(token);
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        verify(authServiceClient, times(1)).validate(any(ValidateTokenRequest.class));
+        assertEquals(1, meterRegistry.get("auth.token.validation.remote").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should cache rejected token when negative caching is enabled")
+    void givenRejectedToken_whenIsValidTwice_thenCallsAuthServiceOnce() {
+        // When
+        when(authServiceClient.validate(any(ValidateTokenRequest.class))).thenReturn(validationResponse(false));
+
+        var first = tokenValidationService.isValid("TOKEN");
+        var second = tokenValidationService.isValid("TOKEN");
+
+        // Then
+        assertFalse(first);
+        assertFalse(second);
+        verify(authServiceClient, times(1)).validate(any(ValidateTokenRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should not cache rejected token when negative caching is disabled")
+    void givenNegativeCachingDisabled_whenIsValidTwice_thenCallsAuthServiceTwice() {
+        // Given
+        var service = new TokenValidationService(authServiceClient, circuitBreakerFactory, publicKeyProvider, batcher,
+                new SimpleMeterRegistry(), TokenValidationMode.REMOTE, 100, 300, 0);
+
+        // When
+        when(authServiceClient.validate(any(ValidateTokenRequest.class))).thenReturn(validationResponse(false));
+
+        service.isValid("TOKEN");
+        service.isValid("TOKEN");
+
+        // Then
+        verify(authServiceClient, times(2)).validate(any(ValidateTokenRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should not cache token that is already expired")
+    void givenExpiredToken_whenIsValidTwice_thenCallsAuthServiceTwice() {
+        // Given
+        var token = createToken(Instant.now().minus(1, ChronoUnit.MINUTES));
+
+        // When
+        when(authServiceClient.validate(any(ValidateTokenRequest.class))).thenReturn(validationResponse(true));
+
+        tokenValidationService.isValid(token);
+        tokenValidationService.isValid(token);
+
+        // Then
+        verify(authServiceClient, times(2)).validate(any(ValidateTokenRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should return false and not cache result when auth service call fails")
+    void givenAuthServiceException_whenIsValid_thenReturnsFalseAndDoesNotCache() {
+        // When
+        when(authServiceClient.validate(any(ValidateTokenRequest.class)))
+                .thenThrow(new RuntimeException())
+                .thenReturn(validationResponse(true));
+
+        var first = tokenValidationService.isValid("TOKEN");
+        var second = tokenValidationService.isValid("TOKEN");
+
+        // Then
+        assertFalse(first);
+        assertTrue(second);
+        verify(authServiceClient, times(2)).validate(any(ValidateTokenRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should validate token through batcher when batching is enabled")
+    void givenBatchingEnabled_whenIsValid_thenValidatesThroughBatcher() {
+        // Given
+        var token = createToken(Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // When
+        when(batcher.isEnabled()).thenReturn(true);
+        when(batcher.validate(token)).thenReturn(CompletableFuture.completedFuture(true));
+
+        var first = tokenValidationService.isValid(token);
+        var second = tokenValidationService.isValid(token);
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        verify(batcher, times(1)).validate(token);
+        verify(authServiceClient, never()).validate(any());
+    }
+
+    @Test
+    @DisplayName("Should see revocation on the next call when max time to live is zero")
+    void givenZeroMaxTimeToLive_whenTokenRevoked_thenNextCallRejectsIt() {
+        // Given
+        var service = new TokenValidationService(authServiceClient, circuitBreakerFactory, publicKeyProvider, batcher,
+                new SimpleMeterRegistry(), TokenValidationMode.REMOTE, 100, 0, 0);
+        var token = createToken(Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // When
+        when(authServiceClient.validate(any(ValidateTokenRequest.class)))
+                .thenReturn(validationResponse(true))
+                .thenReturn(validationResponse(false));
+
+        var beforeRevoke = service.isValid(token);
+        var afterRevoke = service.isValid(token);
+
+        // Then
+        assertTrue(beforeRevoke);
+        assertFalse(afterRevoke);
+        verify(authServiceClient, times(2)).validate(any(ValidateTokenRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should verify token locally without calling auth service when key is loaded")
+    void givenLocalModeAndKnownKey_whenIsValid_thenVerifiesLocally() throws NoSuchAlgorithmException {
+        // Given
+        var keyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        var service = new TokenValidationService(authServiceClient, circuitBreakerFactory, publicKeyProvider, batcher,
+                new SimpleMeterRegistry(), TokenValidationMode.LOCAL, 100, 300, 0);
+        var token = JWT.create()
+                .withKeyId("KEY_ID")
+                .withSubject("123")
+                .withExpiresAt(Instant.now().plus(1, ChronoUnit.HOURS))
+                .sign(Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate()));
+
+        // When
+        when(publicKeyProvider.getPublicKeyById("KEY_ID")).thenReturn((RSAPublicKey) keyPair.getPublic());
+
+        var result = service.isValid(token);
+
+        // Then
+        assertTrue(result);
+        verify(authServiceClient, never()).validate(any());
+    }
+
+    @Test
+    @DisplayName("Should reject locally verified token signed with another key")
+    void givenLocalModeAndForeignSignature_whenIsValid_thenReturnsFalse() throws NoSuchAlgorithmException {
+        // Given
+        var generator = KeyPairGenerator.getInstance("RSA");
+        var keyPair = generator.generateKeyPair();
+        var foreignKeyPair = generator.generateKeyPair();
+        var service = new TokenValidationService(authServiceClient, circuitBreakerFactory, publicKeyProvider, batcher,
+                new SimpleMeterRegistry(), TokenValidationMode.LOCAL, 100, 300, 0);
+        var token = JWT.create()
+                .withKeyId("KEY_ID")
+                .withSubject("123")
+                .sign(Algorithm.RSA256(null, (RSAPrivateKey) foreignKeyPair.getPrivate()));
+
+        // When
+        when(publicKeyProvider.getPublicKeyById("KEY_ID")).thenReturn((RSAPublicKey) keyPair.getPublic());
+
+        var result = service.isValid(token);
+
+        // Then
+        assertFalse(result);
+        verify(authServiceClient, never()).validate(any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to auth service when no key is loaded for the token")
+    void givenLocalModeAndUnknownKey_whenIsValid_thenCallsAuthService() {
+        // Given
+        var service = new TokenValidationService(authServiceClient, circuitBreakerFactory, publicKeyProvider, batcher,
+                new SimpleMeterRegistry(), TokenValidationMode.LOCAL, 100, 300, 0);
+        var token = createToken(Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // When
+        when(publicKeyProvider.getPublicKeyById(null)).thenReturn(null);
+        when(authServiceClient.validate(any(ValidateTokenRequest.class))).thenReturn(validationResponse(true));
+
+        var result = service.isValid(token);
+
+        // Then
+        assertTrue(result);
+        verify(authServiceClient, times(1)).validate(any(ValidateTokenRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should fail fast without calling auth service when circuit breaker is open")
+    void givenOpenCircuitBreaker_whenIsValid_thenReturnsFalseWithoutCallingAuthService() {
+        // Given
+        var token = createToken(Instant.now().plus(1, ChronoUnit.HOURS));
+        circuitBreakerRegistry.circuitBreaker("auth-service").transitionToOpenState();
+
+        // When
+        var result = tokenValidationService.isValid(token);
+
+        // Then
+        assertFalse(result);
+        verify(authServiceClient, never()).validate(any());
+    }
+
+    @Test
+    @DisplayName("Should verify token locally when auth service is unavailable and key is loaded")
+    void givenOpenCircuitBreakerAndKnownKey_whenIsValid_thenVerifiesLocally() throws NoSuchAlgorithmException {
+        // Given
+        var keyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        var token = JWT.create()
+                .withSubject("123")
+                .withExpiresAt(Instant.now().plus(1, ChronoUnit.HOURS))
+                .sign(Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate()));
+        circuitBreakerRegistry.circuitBreaker("auth-service").transitionToOpenState();
+
+        // When
+        when(publicKeyProvider.getPublicKeyById(null)).thenReturn((RSAPublicKey) keyPair.getPublic());
+
+        var result = tokenValidationService.isValid(token);
+
+        // Then
+        assertTrue(result);
+        verify(authServiceClient, never()).validate(any());
+    }
+
+    private String createToken(Instant expiresAt) {
+        return JWT.create()
+                .withSubject("123")
+                .withClaim("role", "USER")
+                .withExpiresAt(expiresAt)
+                .sign(Algorithm.HMAC256("SECRET"));
+    }
+
+    private ApiResponse<Boolean> validationResponse(boolean valid) {
+        return ApiResponse.<Boolean>builder()
+                .success(true)
+                .data(valid)
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.innowise.userservice.service;
+
+import com.innowise.userservice.entity.Card;
+import com.innowise.userservice.repository.CardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CardLookupTest {
+    @Mock
+    private CardRepository cardRepository;
+
+    @InjectMocks
+    private CardLookup cardLookup;
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Should load card once per request")
+    void givenRequest_whenFindByIdTwice_thenQueriesRepositoryOnce() {
+        // Given
+        var card = createCard();
+        startRequest();
+
+        // When
+        when(cardRepository.findCardById(card.getId())).thenReturn(Optional.of(card));
+
+        var first = cardLookup.findById(card.getId());
+        var second = cardLookup.findById(card.getId());
+
+        // Then
+        assertSame(first.orElseThrow(), second.orElseThrow());
+        verify(cardRepository, times(1)).findCardById(card.getId());
+    }
+
+    @Test
+    @DisplayName("Should remember missing card within request")
+    void givenRequestAndMissingCard_whenFindByIdTwice_thenQueriesRepositoryOnce() {
+        // Given
+        var cardId = UUID.randomUUID();
+        startRequest();
+
+        // When
+        when(cardRepository.findCardById(cardId)).thenReturn(Optional.empty());
+
+        cardLookup.findById(cardId);
+        var result = cardLookup.findById(cardId);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(cardRepository, times(1)).findCardById(cardId);
+    }
+
+    @Test
+    @DisplayName("Should load card again after eviction")
+    void givenEvictedCard_whenFindById_thenQueriesRepositoryAgain() {
+        // Given
+        var card = createCard();
+        startRequest();
+
+        // When
+        when(cardRepository.findCardById(card.getId())).thenReturn(Optional.of(card));
+
+        cardLookup.findById(card.getId());
+        cardLookup.evict(card.getId());
+        cardLookup.findById(card.getId());
+
+        // Then
+        verify(cardRepository, times(2)).findCardById(card.getId());
+    }
+
+    @Test
+    @DisplayName("Should query repository on every call outside of request")
+    void givenNoRequest_whenFindByIdTwice_thenQueriesRepositoryTwice() {
+        // Given
+        var card = createCard();
+
+        // When
+        when(cardRepository.findCardById(card.getId())).thenReturn(Optional.of(card));
+
+        cardLookup.findById(card.getId());
+        cardLookup.findById(card.getId());
+
+        // Then
+        verify(cardRepository, times(2)).findCardById(card.getId());
+    }
+
+    private void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    private Card createCard() {
+        var card = new Card();
+        card.setId(UUID.randomUUID());
+        return card;
+    }
+}
@@ -0,0 +1,56 @@
+package com.innowise.userservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.userservice.bulkload.BulkLoadFormat;
+import com.innowise.userservice.bulkload.BulkLoadTable;
+import com.innowise.userservice.exception.TooManyBulkLoadsException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkLoadServiceImplTest {
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Test
+    @DisplayName("Should reject load beyond the concurrency cap before taking a connection")
+    void givenLoadInProgress_whenLoad_thenThrowsTooManyBulkLoads() throws Exception {
+        // Given
+        var service = new BulkLoadServiceImpl(dataSource, new ObjectMapper(), cacheManager, 1000, 1, 600000, 60000);
+        var connecting = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        // When
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            connecting.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            throw new SQLException("Connection is not available");
+        });
+        var running = CompletableFuture.runAsync(() -> service.load(BulkLoadTable.USERS, BulkLoadFormat.CSV,
+                new ByteArrayInputStream(new byte[0])));
+        assertTrue(connecting.await(5, TimeUnit.SECONDS));
+
+        // Then
+        assertThrows(TooManyBulkLoadsException.class, () -> service.load(BulkLoadTable.USERS, BulkLoadFormat.CSV,
+                new ByteArrayInputStream(new byte[0])));
+        release.countDown();
+        assertThrows(Exception.class, running::join);
+    }
+}
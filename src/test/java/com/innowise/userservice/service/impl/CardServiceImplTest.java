@@ -1,5 +1,6 @@
 package com.innowise.userservice.service.impl;
 
+import com.innowise.userservice.cache.CacheNames;
 import com.innowise.userservice.dto.CardCreateRequest;
 import com.innowise.userservice.dto.CardResponse;
 import com.innowise.userservice.entity.Card;
@@ -8,7 +9,10 @@ import com.innowise.userservice.exception.CardNotFoundException;
 import com.innowise.userservice.exception.CardNumberAlreadyExistsException;
 import com.innowise.userservice.exception.UserNotFoundException;
 import com.innowise.userservice.mapper.CardMapper;
+import com.innowise.userservice.pagination.ConcurrentPageCounter;
+import com.innowise.userservice.pagination.CountMode;
 import com.innowise.userservice.repository.CardRepository;
+import com.innowise.userservice.service.CardLookup;
 import com.innowise.userservice.service.UserService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -16,10 +20,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -41,6 +47,18 @@ class CardServiceImplTest {
     @Mock
     private CardMapper cardMapper;
 
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache ownerCache;
+
+    @Mock
+    private CardLookup cardLookup;
+
+    @Spy
+    private ConcurrentPageCounter pageCounter = ConcurrentPageCounter.serial();
+
     @InjectMocks
     private CardServiceImpl cardService;
 
@@ -72,6 +90,26 @@ class CardServiceImplTest {
             verify(cardRepository, times(1)).existsByNumber(request.number());
         }
 
+        @Test
+        @DisplayName("Should cache card owner when creating card")
+        void givenValidData_whenCreate_thenCachesCardOwner() {
+            // Given
+            var request = createCardCreateRequest();
+            var user = createUser(request.userId());
+            var card = createCard(request.number(), request.holder(), request.expirationDate());
+
+            // When
+            when(cardRepository.existsByNumber(request.number())).thenReturn(false);
+            when(userService.getEntityByUserId(request.userId())).thenReturn(user);
+            when(cardMapper.toEntity(any(CardCreateRequest.class))).thenReturn(card);
+            when(cacheManager.getCache(CacheNames.CARD_OWNER_CACHE)).thenReturn(ownerCache);
+
+            cardService.create(request);
+
+            // Then
+            verify(ownerCache, times(1)).put(card.getId().toString(), user.getUserId());
+        }
+
         @Test
         @DisplayName("Should throw CardNumberAlreadyExistsException when creating card with existing number")
         void givenExistingCardNumber_whenCreate_thenThrowsCardNumberAlreadyExistsException() {
@@ -117,7 +155,7 @@ class CardServiceImplTest {
             var response = createCardResponse(card, UUID.randomUUID().toString());
 
             // When
-            when(cardRepository.findCardById(card.getId())).thenReturn(Optional.of(card));
+            when(cardLookup.findById(card.getId())).thenReturn(Optional.of(card));
             when(cardMapper.toResponse(any(Card.class))).thenReturn(response);
 
             var serviceResponse = cardService.getById(card.getId());
@@ -125,7 +163,7 @@ class CardServiceImplTest {
             // Then
             assertEquals(response, serviceResponse);
 
-            verify(cardRepository, times(1)).findCardById(card.getId());
+            verify(cardLookup, times(1)).findById(card.getId());
             verify(cardMapper, times(1)).toResponse(card);
         }
 
@@ -136,15 +174,14 @@ class CardServiceImplTest {
             var card = createCard("TEST_NUMBER", "TEST_HOLDER", LocalDate.now().plusDays(1));
 
             // When
-            when(cardRepository.findCardById(card.getId())).thenReturn(Optional.empty());
+            when(cardLookup.findById(card.getId())).thenReturn(Optional.empty());
 
             // Then
             assertThrows(CardNotFoundException.class, () -> cardService.getById(card.getId()));
 
-            verify(cardRepository, times(1)).findCardById(card.getId());
+            verify(cardLookup, times(1)).findById(card.getId());
             verify(cardMapper, never()).toResponse(any());
         }
-
     }
 
     @Nested
@@ -157,35 +194,31 @@ class CardServiceImplTest {
             var card = createCard("TEST_NUMBER", "TEST_HOLDER",
                     LocalDate.now().plusDays(1));
             var response = createCardResponse(card, UUID.randomUUID().toString());
-            var pageable = PageRequest.of(0, 10);
-            var ids = new PageImpl<>(List.of(card.getId()), pageable, 1);
+            var pageable = PageRequest.of(0, 1);
 
             // When
-            when(cardRepository.findCardIds(pageable)).thenReturn(ids);
-            when(cardRepository.findAllWithUsersByIds(ids.getContent())).thenReturn(List.of(card));
+            when(cardRepository.findSliceWithUsers(pageable)).thenReturn(new SliceImpl<>(List.of(card), pageable, true));
+            when(cardRepository.count()).thenReturn(3L);
             when(cardMapper.toResponse(card)).thenReturn(response);
 
             var serviceResponse = cardService.getAllPaged(pageable);
 
             // Then
-            assertEquals(1, serviceResponse.getTotalElements());
+            assertEquals(3, serviceResponse.getTotalElements());
             assertEquals(response, serviceResponse.getContent().get(0));
 
-            verify(cardRepository, times(1)).findCardIds(pageable);
-            verify(cardRepository, times(1)).findAllWithUsersByIds(ids.getContent());
+            verify(cardRepository, times(1)).findSliceWithUsers(pageable);
             verify(cardMapper, times(1)).toResponse(card);
         }
 
         @Test
-        @DisplayName("Should return empty page when no cards exist")
+        @DisplayName("Should return empty page without count query when no cards exist")
         void givenNoCards_whenGetAllPaged_thenReturnsEmptyPage() {
             // Given
             var pageable = PageRequest.of(0, 10);
-            Page<UUID> ids = new PageImpl<>(List.of(), pageable, 0);
 
             // When
-            when(cardRepository.findCardIds(pageable)).thenReturn(ids);
-            when(cardRepository.findAllWithUsersByIds(ids.getContent())).thenReturn(List.of());
+            when(cardRepository.findSliceWithUsers(pageable)).thenReturn(new SliceImpl<>(List.of(), pageable, false));
 
             var serviceResponse = cardService.getAllPaged(pageable);
 
@@ -193,11 +226,29 @@ class CardServiceImplTest {
             assertEquals(0, serviceResponse.getTotalElements());
             assertEquals(0, serviceResponse.getContent().size());
 
-            verify(cardRepository, times(1)).findCardIds(pageable);
-            verify(cardRepository, times(1)).findAllWithUsersByIds(ids.getContent());
+            verify(cardRepository, never()).count();
             verify(cardMapper, never()).toResponse(any());
         }
 
+        @Test
+        @DisplayName("Should fall back to page without total when table has no statistics")
+        void givenNoStatistics_whenGetAllPagedEstimated_thenReturnsPageWithoutTotal() {
+            // Given
+            var card = createCard("TEST_NUMBER", "TEST_HOLDER", LocalDate.now().plusDays(1));
+            var pageable = PageRequest.of(0, 1);
+
+            // When
+            when(cardRepository.findSliceWithUsers(pageable)).thenReturn(new SliceImpl<>(List.of(card), pageable, true));
+            when(cardRepository.estimateCount()).thenReturn(-1L);
+
+            var serviceResponse = cardService.getAllPaged(pageable, CountMode.ESTIMATED);
+
+            // Then
+            assertEquals(CountMode.NONE, serviceResponse.countMode());
+            assertEquals(true, serviceResponse.hasNext());
+
+            verify(cardRepository, never()).count();
+        }
     }
 
     @Nested
@@ -212,16 +263,33 @@ class CardServiceImplTest {
             card.setUser(user);
 
             // When
-            when(cardRepository.findCardById(card.getId())).thenReturn(Optional.of(card));
+            when(cardLookup.findById(card.getId())).thenReturn(Optional.of(card));
 
             cardService.delete(card.getId());
 
             // Then
-            verify(cardRepository, times(1)).findCardById(card.getId());
+            verify(cardLookup, times(1)).findById(card.getId());
             verify(cardRepository, times(1)).delete(card.getId());
             verify(userService, times(1)).evictUserCache(card.getUser());
         }
 
+        @Test
+        @DisplayName("Should evict card owner when deleting card")
+        void givenExistingCard_whenDelete_thenEvictsCardOwner() {
+            // Given
+            var card = createCard("TEST_NUMBER", "TEST_HOLDER", LocalDate.now().plusDays(1));
+            card.setUser(createUser(UUID.randomUUID().toString()));
+
+            // When
+            when(cardLookup.findById(card.getId())).thenReturn(Optional.of(card));
+            when(cacheManager.getCache(CacheNames.CARD_OWNER_CACHE)).thenReturn(ownerCache);
+
+            cardService.delete(card.getId());
+
+            // Then
+            verify(ownerCache, times(1)).evict(card.getId().toString());
+        }
+
         @Test
         @DisplayName("Should throw CardNotFoundException when deleting non-existing card")
         void givenNonExistingCard_whenDelete_thenThrowsCardNotFoundException() {
@@ -229,12 +297,12 @@ class CardServiceImplTest {
             var cardId = UUID.randomUUID();
 
             // When
-            when(cardRepository.findCardById(cardId)).thenReturn(Optional.empty());
+            when(cardLookup.findById(cardId)).thenReturn(Optional.empty());
 
             // Then
             assertThrows(CardNotFoundException.class, () -> cardService.delete(cardId));
 
-            verify(cardRepository, times(1)).findCardById(cardId);
+            verify(cardLookup, times(1)).findById(cardId);
             verify(cardRepository, never()).delete(any(UUID.class));
         }
     }
@@ -0,0 +1,281 @@
+package com.innowise.userservice.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.innowise.userservice.dto.CardResponse;
+import com.innowise.userservice.dto.ExportJobRequest;
+import com.innowise.userservice.dto.ExportJobResponse;
+import com.innowise.userservice.dto.UserResponse;
+import com.innowise.userservice.exception.ExportJobNotFoundException;
+import com.innowise.userservice.exception.InvalidExportRequestException;
+import com.innowise.userservice.exception.TooManyExportJobsException;
+import com.innowise.userservice.export.ExportFormat;
+import com.innowise.userservice.export.ExportJobStatus;
+import com.innowise.userservice.export.ExportTarget;
+import com.innowise.userservice.service.CardExportService;
+import com.innowise.userservice.service.UserExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExportJobServiceImplTest {
+    @Mock
+    private UserExportService userExportService;
+
+    @Mock
+    private CardExportService cardExportService;
+
+    @TempDir
+    private Path directory;
+
+    private ExportJobServiceImpl exportJobService;
+
+    @AfterEach
+    void shutdown() {
+        if (exportJobService != null) {
+            exportJobService.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write users as compressed CSV with bulk load columns")
+    void givenUsersCsvRequest_whenStart_thenWritesFileAndCompletes() throws Exception {
+        // Given
+        exportJobService = createService(1, 1);
+        var user = new UserResponse("USER_ID", "TEST, NAME", "TEST_SURNAME", LocalDate.of(1990, 1, 1),
+                "TEST@EMAIL", List.of());
+
+        // When
+        when(userExportService.exportUsers(isNull(), isNull(), eq(false), any())).thenAnswer(invocation -> {
+            Consumer<UserResponse> sink = invocation.getArgument(3);
+            sink.accept(user);
+            sink.accept(user);
+            return 2L;
+        });
+
+        var job = exportJobService.start(new ExportJobRequest(ExportTarget.USERS, ExportFormat.CSV,
+                null, null, null, null));
+        var finished = awaitFinished(job.id());
+
+        // Then
+        assertEquals(ExportJobStatus.COMPLETED, finished.status());
+        assertEquals(2, finished.rowsWritten());
+        assertEquals("users-" + job.id() + ".csv.gz", finished.file());
+        assertEquals("""
+                "user_id","name","surname","birth_date","email"
+                "USER_ID","TEST, NAME","TEST_SURNAME","1990-01-01","TEST@EMAIL"
+                "USER_ID","TEST, NAME","TEST_SURNAME","1990-01-01","TEST@EMAIL"
+                """, readGzip(directory.resolve(finished.file())));
+    }
+
+    @Test
+    @DisplayName("Should pass expiration filter and write cards as NDJSON")
+    void givenCardsNdjsonRequest_whenStart_thenWritesOneLinePerCard() throws Exception {
+        // Given
+        exportJobService = createService(1, 1);
+        var from = LocalDate.of(2030, 1, 1);
+        var to = LocalDate.of(2030, 12, 31);
+        var card = new CardResponse(UUID.randomUUID(), "USER_ID", "NUMBER", "TEST_HOLDER", from);
+
+        // When
+        when(cardExportService.exportCards(eq(from), eq(to), any())).thenAnswer(invocation -> {
+            Consumer<CardResponse> sink = invocation.getArgument(2);
+            sink.accept(card);
+            return 1L;
+        });
+
+        var job = exportJobService.start(new ExportJobRequest(ExportTarget.CARDS, ExportFormat.NDJSON,
+                null, null, from, to));
+        var finished = awaitFinished(job.id());
+
+        // Then
+        assertEquals(ExportJobStatus.COMPLETED, finished.status());
+        assertEquals(1, finished.rowsWritten());
+        var lines = readGzip(directory.resolve(finished.file())).lines().toList();
+        assertEquals(1, lines.size());
+        assertEquals(card, objectMapper().readValue(lines.get(0), CardResponse.class));
+    }
+
+    @Test
+    @DisplayName("Should reject filter that does not apply to the target")
+    void givenExpirationFilterForUsers_whenStart_thenThrows() {
+        // Given
+        exportJobService = createService(1, 1);
+        var request = new ExportJobRequest(ExportTarget.USERS, ExportFormat.CSV,
+                null, null, LocalDate.now(), null);
+
+        // When, Then
+        assertThrows(InvalidExportRequestException.class, () -> exportJobService.start(request));
+    }
+
+    @Test
+    @DisplayName("Should stop running job on cancel and delete its partial file")
+    void givenRunningJob_whenCancel_thenStopsAndDeletesFile() throws Exception {
+        // Given
+        exportJobService = createService(1, 1);
+        var started = new CountDownLatch(1);
+
+        // When
+        when(userExportService.exportUsers(isNull(), isNull(), eq(true), any())).thenAnswer(invocation -> {
+            Consumer<UserResponse> sink = invocation.getArgument(3);
+            started.countDown();
+            // rows keep coming until the job notices the cancellation
+            while (true) {
+                sink.accept(new UserResponse("USER_ID", "TEST_NAME", "TEST_SURNAME", LocalDate.of(1990, 1, 1),
+                        "TEST@EMAIL", List.of()));
+            }
+        });
+
+        var job = exportJobService.start(new ExportJobRequest(ExportTarget.USERS, ExportFormat.NDJSON,
+                null, null, null, null));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        exportJobService.cancel(job.id());
+        var finished = awaitFinished(job.id());
+
+        // Then
+        assertEquals(ExportJobStatus.CANCELLED, finished.status());
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Should queue jobs up to the cap, reject further ones and cancel queued ones right away")
+    void givenBusyThreadAndFullQueue_whenStart_thenRejects() throws Exception {
+        // Given
+        exportJobService = createService(1, 1);
+        var release = new CountDownLatch(1);
+        var request = new ExportJobRequest(ExportTarget.USERS, ExportFormat.CSV, null, null, null, null);
+
+        // When
+        when(userExportService.exportUsers(isNull(), isNull(), eq(false), any())).thenAnswer(invocation -> {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return 0L;
+        });
+
+        var running = exportJobService.start(request);
+        var queued = exportJobService.start(request);
+
+        // Then
+        assertThrows(TooManyExportJobsException.class, () -> exportJobService.start(request));
+        assertEquals(ExportJobStatus.QUEUED, queued.status());
+        assertEquals(ExportJobStatus.CANCELLED, exportJobService.cancel(queued.id()).status());
+
+        release.countDown();
+        assertEquals(ExportJobStatus.COMPLETED, awaitFinished(running.id()).status());
+    }
+
+    @Test
+    @DisplayName("Should drop expired jobs with their files and delete export files left by earlier runs")
+    void givenExpiredJobAndStaleFiles_whenRemoveExpiredJobs_thenDeletesOnlyExportFiles() throws Exception {
+        // Given
+        exportJobService = createService(1, 1, 0);
+        var staleExport = Files.writeString(directory.resolve("users-" + UUID.randomUUID() + ".csv.gz"), "STALE");
+        var stalePart = Files.writeString(directory.resolve("cards-" + UUID.randomUUID() + ".ndjson.gz.part"), "STALE");
+        var unrelated = Files.writeString(directory.resolve("users-backup.csv.gz"), "KEEP");
+        for (var file : List.of(staleExport, stalePart, unrelated)) {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS)));
+        }
+
+        // When
+        when(userExportService.exportUsers(isNull(), isNull(), eq(false), any())).thenReturn(0L);
+
+        var job = exportJobService.start(new ExportJobRequest(ExportTarget.USERS, ExportFormat.CSV,
+                null, null, null, null));
+        assertEquals(ExportJobStatus.COMPLETED, awaitFinished(job.id()).status());
+        Thread.sleep(10);
+        exportJobService.removeExpiredJobs();
+
+        // Then
+        assertThrows(ExportJobNotFoundException.class, () -> exportJobService.getById(job.id()));
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(unrelated), files.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep partial file of running job when sweeping the directory")
+    void givenRunningJob_whenRemoveExpiredJobs_thenKeepsItsPartialFile() throws Exception {
+        // Given
+        exportJobService = createService(1, 1, 0);
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        // When
+        when(userExportService.exportUsers(isNull(), isNull(), eq(false), any())).thenAnswer(invocation -> {
+            started.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return 0L;
+        });
+
+        var job = exportJobService.start(new ExportJobRequest(ExportTarget.USERS, ExportFormat.CSV,
+                null, null, null, null));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        var partFile = directory.resolve(job.file() + ".part");
+        Files.setLastModifiedTime(partFile, FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS)));
+        exportJobService.removeExpiredJobs();
+
+        // Then
+        assertTrue(Files.exists(partFile));
+        release.countDown();
+        assertEquals(ExportJobStatus.COMPLETED, awaitFinished(job.id()).status());
+    }
+
+    private ExportJobServiceImpl createService(int maxConcurrentJobs, int queueCapacity) {
+        return createService(maxConcurrentJobs, queueCapacity, 86400);
+    }
+
+    private ExportJobServiceImpl createService(int maxConcurrentJobs, int queueCapacity, long retention) {
+        return new ExportJobServiceImpl(userExportService, cardExportService, objectMapper(),
+                directory.toString(), maxConcurrentJobs, queueCapacity, retention);
+    }
+
+    private ExportJobResponse awaitFinished(UUID id) throws InterruptedException {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        var job = exportJobService.getById(id);
+        while (!job.status().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = exportJobService.getById(id);
+        }
+        return job;
+    }
+
+    private static String readGzip(Path file) throws IOException {
+        try (var in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
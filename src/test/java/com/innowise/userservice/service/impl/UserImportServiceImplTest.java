@@ -0,0 +1,179 @@
+package com.innowise.userservice.service.impl;
+
+import com.innowise.userservice.dto.UserCreateRequest;
+import com.innowise.userservice.dto.UserImportResult;
+import com.innowise.userservice.dto.UserImportRow;
+import com.innowise.userservice.dto.UserImportStatus;
+import com.innowise.userservice.entity.User;
+import com.innowise.userservice.mapper.UserMapper;
+import com.innowise.userservice.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceImplTest {
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserMapper userMapper;
+
+    private UserImportServiceImpl userImportService;
+
+    @BeforeEach
+    void setUp() {
+        userImportService = new UserImportServiceImpl(userRepository, userMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), 2);
+    }
+
+    @Test
+    @DisplayName("Should create valid rows in one batch and report each row")
+    void givenValidRows_whenImportChunk_thenSavesAllAtOnce() {
+        // Given
+        var first = createRequest("TEST@EMAIL1");
+        var second = createRequest("TEST@EMAIL2");
+
+        // When
+        when(userRepository.findKeysByEmailInOrUserIdIn(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(userMapper.toEntity(any(UserCreateRequest.class))).thenAnswer(invocation -> new User());
+
+        var results = userImportService.importChunk(List.of(UserImportRow.of(1, first), UserImportRow.of(2, second)));
+
+        // Then
+        assertEquals(List.of(UserImportStatus.CREATED, UserImportStatus.CREATED), statuses(results));
+        assertEquals(first.userId(), results.get(0).userId());
+
+        verify(userRepository, times(1)).findKeysByEmailInOrUserIdIn(anyCollection(), anyCollection());
+        verify(userRepository, times(1)).saveAll(anyList());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid, unreadable and repeated rows without inserting them")
+    void givenInvalidAndRepeatedRows_whenImportChunk_thenRejectsThem() {
+        // Given
+        var valid = createRequest("TEST@EMAIL1");
+        var invalid = new UserCreateRequest(UUID.randomUUID().toString(), "", "TEST_SURNAME",
+                LocalDate.now().minusYears(20), "NOT_AN_EMAIL");
+        var repeated = new UserCreateRequest(UUID.randomUUID().toString(), "TEST_NAME", "TEST_SURNAME",
+                LocalDate.now().minusYears(20), valid.email());
+
+        // When
+        when(userRepository.findKeysByEmailInOrUserIdIn(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(userMapper.toEntity(valid)).thenReturn(new User());
+
+        var results = userImportService.importChunk(List.of(
+                UserImportRow.of(1, valid),
+                UserImportRow.of(2, invalid),
+                UserImportRow.unreadable(3, "Invalid request body"),
+                UserImportRow.of(4, repeated)));
+
+        // Then
+        assertEquals(List.of(UserImportStatus.CREATED, UserImportStatus.INVALID, UserImportStatus.INVALID,
+                UserImportStatus.DUPLICATE), statuses(results));
+        assertEquals("Invalid request body", results.get(2).message());
+        assertEquals(4, results.get(3).line());
+
+        verify(userMapper, never()).toEntity(invalid);
+        verify(userMapper, never()).toEntity(repeated);
+    }
+
+    @Test
+    @DisplayName("Should report rows colliding with existing users as duplicates")
+    void givenExistingEmail_whenImportChunk_thenReportsDuplicate() {
+        // Given
+        var existing = createRequest("TEST@EMAIL1");
+        var fresh = createRequest("TEST@EMAIL2");
+        var keys = mock(UserRepository.UserKeys.class);
+
+        // When
+        when(keys.getEmail()).thenReturn(existing.email());
+        when(keys.getUserId()).thenReturn(UUID.randomUUID().toString());
+        when(userRepository.findKeysByEmailInOrUserIdIn(anyCollection(), anyCollection())).thenReturn(List.of(keys));
+        when(userMapper.toEntity(fresh)).thenReturn(new User());
+
+        var results = userImportService.importChunk(List.of(UserImportRow.of(1, existing), UserImportRow.of(2, fresh)));
+
+        // Then
+        assertEquals(List.of(UserImportStatus.DUPLICATE, UserImportStatus.CREATED), statuses(results));
+
+        verify(userMapper, never()).toEntity(existing);
+    }
+
+    @Test
+    @DisplayName("Should insert rows one by one when batch insert hits unique constraint")
+    void givenConcurrentConflict_whenImportChunk_thenFallsBackToSingleInserts() {
+        // Given
+        var conflicting = createRequest("TEST@EMAIL1");
+        var fresh = createRequest("TEST@EMAIL2");
+        var conflictingUser = new User();
+        var freshUser = new User();
+
+        // When
+        when(userRepository.findKeysByEmailInOrUserIdIn(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(userMapper.toEntity(conflicting)).thenReturn(conflictingUser);
+        when(userMapper.toEntity(fresh)).thenReturn(freshUser);
+        when(userRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(userRepository.save(conflictingUser)).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(userRepository.existsByEmail(conflicting.email())).thenReturn(true);
+
+        var results = userImportService.importChunk(List.of(UserImportRow.of(1, conflicting), UserImportRow.of(2, fresh)));
+
+        // Then
+        assertEquals(List.of(UserImportStatus.DUPLICATE, UserImportStatus.CREATED), statuses(results));
+
+        verify(userRepository, times(1)).save(freshUser);
+    }
+
+    @Test
+    @DisplayName("Should import input in chunks and pass results in input order")
+    void givenMoreRowsThanChunkSize_whenImportUsers_thenImportsInChunks() {
+        // Given
+        var rows = List.of(
+                UserImportRow.of(1, createRequest("TEST@EMAIL1")),
+                UserImportRow.of(2, createRequest("TEST@EMAIL2")),
+                UserImportRow.of(3, createRequest("TEST@EMAIL3")));
+        var results = new ArrayList<UserImportResult>();
+
+        // When
+        when(userRepository.findKeysByEmailInOrUserIdIn(anyCollection(), anyCollection())).thenReturn(List.of());
+        when(userMapper.toEntity(any(UserCreateRequest.class))).thenAnswer(invocation -> new User());
+
+        userImportService.importUsers(rows.iterator(), results::add);
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), results.stream().map(UserImportResult::line).toList());
+
+        verify(userRepository, times(2)).saveAll(anyList());
+    }
+
+    private static List<UserImportStatus> statuses(List<UserImportResult> results) {
+        return results.stream().map(UserImportResult::status).toList();
+    }
+
+    private static UserCreateRequest createRequest(String email) {
+        return new UserCreateRequest(
+                UUID.randomUUID().toString(),
+                "TEST_NAME",
+                "TEST_SURNAME",
+                LocalDate.now().minusYears(20),
+                email
+        );
+    }
+}
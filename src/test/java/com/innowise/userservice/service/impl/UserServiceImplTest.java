@@ -1,5 +1,6 @@
 package com.innowise.userservice.service.impl;
 
+import com.innowise.userservice.cache.CacheNames;
 import com.innowise.userservice.dto.UserCreateRequest;
 import com.innowise.userservice.dto.UserResponse;
 import com.innowise.userservice.dto.UserUpdateRequest;
@@ -7,6 +8,9 @@ import com.innowise.userservice.entity.User;
 import com.innowise.userservice.exception.UserAlreadyExistsException;
 import com.innowise.userservice.exception.UserNotFoundException;
 import com.innowise.userservice.mapper.UserMapper;
+import com.innowise.userservice.pagination.ConcurrentPageCounter;
+import com.innowise.userservice.pagination.CountMode;
+import com.innowise.userservice.repository.CardRepository;
 import com.innowise.userservice.repository.UserRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -14,19 +18,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Callable;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
@@ -35,6 +42,9 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CardRepository cardRepository;
+
     @Mock
     private UserMapper userMapper;
 
@@ -44,6 +54,15 @@ class UserServiceImplTest {
     @Mock
     private Cache cache;
 
+    @Mock
+    private Cache emailCache;
+
+    @Mock
+    private Cache ownerCache;
+
+    @Spy
+    private ConcurrentPageCounter pageCounter = ConcurrentPageCounter.serial();
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -77,6 +96,31 @@ class UserServiceImplTest {
             verify(userRepository, times(1)).save(user);
         }
 
+        @Test
+        @DisplayName("Should cache created user once and index it by email")
+        void givenValidData_whenCreate_thenCachesUserAndIndexesEmail() {
+            // Given
+            var request = createUserCreateRequest();
+            var user = createUser(request.name(), request.surname(), request.birthDate(), request.email());
+            var response = createUserResponse(user);
+
+            // When
+            when(userRepository.existsByEmail(request.email())).thenReturn(false);
+            when(userRepository.existsByUserId(request.userId())).thenReturn(false);
+            when(userMapper.toEntity(request)).thenReturn(user);
+            when(userRepository.save(user)).thenReturn(user);
+            when(userMapper.toResponse(user)).thenReturn(response);
+            when(cacheManager.getCache(CacheNames.USER_CACHE)).thenReturn(cache);
+            when(cacheManager.getCache(CacheNames.USER_EMAIL_CACHE)).thenReturn(emailCache);
+
+            userService.create(request);
+
+            // Then
+            verify(cache, times(1)).put(user.getUserId(), response);
+            verify(cache, never()).put(eq(user.getEmail()), any());
+            verify(emailCache, times(1)).put(user.getEmail(), user.getUserId());
+        }
+
         @Test
         @DisplayName("Should throw UserAlreadyExistsException when creating a user with existing email")
         void givenExistingEmail_whenCreate_thenThrowsException() {
@@ -128,7 +172,7 @@ class UserServiceImplTest {
             var response = createUserResponse(user);
 
             // When
-            when(userRepository.findUserByUserId(user.getUserId())).thenReturn(Optional.of(user));
+            when(userRepository.findWithCardsByUserId(user.getUserId())).thenReturn(Optional.of(user));
             when(userMapper.toResponse(user)).thenReturn(response);
 
             var serviceResponse = userService.getByUserId(user.getUserId());
@@ -136,7 +180,7 @@ class UserServiceImplTest {
             // Then
             assertEquals(response, serviceResponse);
 
-            verify(userRepository, times(1)).findUserByUserId(user.getUserId());
+            verify(userRepository, times(1)).findWithCardsByUserId(user.getUserId());
             verify(userMapper, times(1)).toResponse(user);
         }
 
@@ -147,33 +191,78 @@ class UserServiceImplTest {
             var userId = UUID.randomUUID().toString();
 
             // When
-            when(userRepository.findUserByUserId(userId)).thenReturn(Optional.empty());
+            when(userRepository.findWithCardsByUserId(userId)).thenReturn(Optional.empty());
 
             // Then
             assertThrows(UserNotFoundException.class, () -> userService.getByUserId(userId));
 
-            verify(userRepository, times(1)).findUserByUserId(userId);
+            verify(userRepository, times(1)).findWithCardsByUserId(userId);
             verify(userMapper, never()).toResponse(any());
         }
 
         @Test
-        @DisplayName("Should cache user by ID and email when getting existing user by ID")
-        void givenExistingUser_whenGetById_thenCachesUserByIdAndEmail() {
+        @DisplayName("Should rethrow loader exception as is when user is not found through cache")
+        void givenNonExistingUserAndCache_whenGetById_thenThrowsUserNotFoundException() {
+            // Given
+            var userId = UUID.randomUUID().toString();
+
+            // When
+            when(cacheManager.getCache(CacheNames.USER_CACHE)).thenReturn(cache);
+            when(cache.get(eq(userId), any(Callable.class))).thenAnswer(invocation -> {
+                try {
+                    return invocation.<Callable<?>>getArgument(1).call();
+                } catch (Exception e) {
+                    throw new Cache.ValueRetrievalException(userId, invocation.getArgument(1), e);
+                }
+            });
+            when(userRepository.findWithCardsByUserId(userId)).thenReturn(Optional.empty());
+
+            // Then
+            assertThrows(UserNotFoundException.class, () -> userService.getByUserId(userId));
+
+            verify(cache, never()).put(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should index user email when getting existing user by ID")
+        void givenExistingUser_whenGetById_thenIndexesEmail() {
             // Given
             var user = createUser("TEST_NAME", "TEST_SURNAME", LocalDate.now(), "TEST@EMAIL");
             var response = createUserResponse(user);
 
             // When
-            when(userRepository.findUserByUserId(user.getUserId())).thenReturn(Optional.of(user));
+            when(userRepository.findWithCardsByUserId(user.getUserId())).thenReturn(Optional.of(user));
             when(userMapper.toResponse(user)).thenReturn(response);
-            when(cacheManager.getCache(UserServiceImpl.USER_CACHE)).thenReturn(cache);
+            when(cacheManager.getCache(CacheNames.USER_CACHE)).thenReturn(cache);
+            when(cacheManager.getCache(CacheNames.USER_EMAIL_CACHE)).thenReturn(emailCache);
+            when(cache.get(eq(user.getUserId()), any(Callable.class))).thenAnswer(callLoader());
 
             userService.getByUserId(user.getUserId());
 
             // Then
-            verify(cacheManager, times(2)).getCache(UserServiceImpl.USER_CACHE);
-            verify(cache, times(1)).put(user.getUserId(), response);
-            verify(cache, times(1)).put(user.getEmail(), response);
+            verify(cache, times(1)).get(eq(user.getUserId()), any(Callable.class));
+            verify(cache, never()).put(any(), any());
+            verify(emailCache, times(1)).put(user.getEmail(), user.getUserId());
+        }
+
+        @Test
+        @DisplayName("Should return cached user without querying database when user is cached")
+        void givenCachedUser_whenGetByUserId_thenReturnsCachedUser() {
+            // Given
+            var user = createUser("TEST_NAME", "TEST_SURNAME", LocalDate.now(), "TEST@EMAIL");
+            var response = createUserResponse(user);
+
+            // When
+            when(cacheManager.getCache(CacheNames.USER_CACHE)).thenReturn(cache);
+            when(cache.get(eq(user.getUserId()), any(Callable.class))).thenReturn(response);
+
+            var serviceResponse = userService.getByUserId(user.getUserId());
+
+            // Then
+            assertEquals(response, serviceResponse);
+
+            verify(userRepository, never()).findWithCardsByUserId(any());
+            verify(cache, never()).put(any(), any());
         }
     }
 
@@ -188,7 +277,7 @@ class UserServiceImplTest {
             var response = createUserResponse(user);
 
             // When
-            when(userRepository.findUserByEmail(user.getEmail())).thenReturn(Optional.of(user));
+            when(userRepository.findWithCardsByEmail(user.getEmail())).thenReturn(Optional.of(user));
             when(userMapper.toResponse(user)).thenReturn(response);
 
             var serviceResponse = userService.getByEmail(user.getEmail());
@@ -196,7 +285,7 @@ class UserServiceImplTest {
             // Then
             assertEquals(response, serviceResponse);
 
-            verify(userRepository, times(1)).findUserByEmail(user.getEmail());
+            verify(userRepository, times(1)).findWithCardsByEmail(user.getEmail());
             verify(userMapper, times(1)).toResponse(user);
         }
 
@@ -207,33 +296,92 @@ class UserServiceImplTest {
             var email = "TEST@EMAIL";
 
             // When
-            when(userRepository.findUserByEmail(email)).thenReturn(Optional.empty());
+            when(userRepository.findWithCardsByEmail(email)).thenReturn(Optional.empty());
 
             // Then
             assertThrows(UserNotFoundException.class, () -> userService.getByEmail(email));
 
-            verify(userRepository, times(1)).findUserByEmail(email);
+            verify(userRepository, times(1)).findWithCardsByEmail(email);
             verify(userMapper, never()).toResponse(any());
         }
 
         @Test
-        @DisplayName("Should cache user by ID and email when getting existing user by email")
-        void givenExistingUser_whenGetByEmail_thenCachesUserByIdAndEmail() {
+        @DisplayName("Should cache user by ID and index email when getting existing user by email")
+        void givenExistingUser_whenGetByEmail_thenCachesUserByIdAndIndexesEmail() {
             // Given
             var user = createUser("TEST_NAME", "TEST_SURNAME", LocalDate.now(), "TEST@EMAIL");
             var response = createUserResponse(user);
 
             // When
-            when(userRepository.findUserByEmail(user.getEmail())).thenReturn(Optional.of(user));
+            when(userRepository.findWithCardsByEmail(user.getEmail())).thenReturn(Optional.of(user));
             when(userMapper.toResponse(user)).thenReturn(response);
-            when(cacheManager.getCache(UserServiceImpl.USER_CACHE)).thenReturn(cache);
+            when(cacheManager.getCache(CacheNames.USER_CACHE)).thenReturn(cache);
+            when(cacheManager.getCache(CacheNames.USER_EMAIL_CACHE)).thenReturn(emailCache);
+            when(emailCache.get(eq(user.getEmail()), any(Callable.class))).thenAnswer(invocation -> {
+                var userId = invocation.<Callable<?>>getArgument(1).call();
+                emailCache.put(user.getEmail(), userId);
+                return userId;
+            });
 
-            userService.getByEmail(user.getEmail());
+            var serviceResponse = userService.getByEmail(user.getEmail());
 
             // Then
-            verify(cacheManager, times(2)).getCache(UserServiceImpl.USER_CACHE);
+            assertEquals(response, serviceResponse);
+
             verify(cache, times(1)).put(user.getUserId(), response);
-            verify(cache, times(1)).put(user.getEmail(), response);
+            verify(emailCache, times(1)).put(user.getEmail(), user.getUserId());
+            verify(cache, never()).get(any(), any(Callable.class));
+        }
+
+        @Test
+        @DisplayName("Should resolve indexed email through user cache without querying database")
+        void givenIndexedEmail_whenGetByEmail_thenReturnsCachedUser() {
+            // Given
+            var user = createUser("TEST_NAME", "TEST_SURNAME", LocalDate.now(), "TEST@EMAIL");
+            var response = createUserResponse(user);
+
+            // When
+            when(cacheManager.getCache(CacheNames.USER_CACHE)).thenReturn(cache);
+            when(cacheManager.getCache(CacheNames.USER_EMAIL_CACHE)).thenReturn(emailCache);
+            when(emailCache.get(eq(user.getEmail()), any(Callable.class))).thenReturn(user.getUserId());
+            when(cache.get(eq(user.getUserId()), any(Callable.class))).thenReturn(response);
+
+            var serviceResponse = userService.getByEmail(user.getEmail());
+
+            // Then
+            assertEquals(response, serviceResponse);
+
+            verify(userRepository, never()).findWithCardsByEmail(any());
+            verify(userRepository, never()).findWithCardsByUserId(any());
+            verify(emailCache, never()).evict(any());
+        }
+
+        @Test
+        @DisplayName("Should drop stale email index and reload user when indexed user has another email")
+        void givenStaleEmailIndex_whenGetByEmail_thenEvictsIndexAndReloads() {
+            // Given
+            var user = createUser("TEST_NAME", "TEST_SURNAME", LocalDate.now(), "TEST@EMAIL");
+            var response = createUserResponse(user);
+            var staleUserId = UUID.randomUUID().toString();
+            var staleResponse = new UserResponse(staleUserId, "OTHER_NAME", "OTHER_SURNAME", LocalDate.now(),
+                    "OTHER@EMAIL", null);
+
+            // When
+            when(cacheManager.getCache(CacheNames.USER_CACHE)).thenReturn(cache);
+            when(cacheManager.getCache(CacheNames.USER_EMAIL_CACHE)).thenReturn(emailCache);
+            when(emailCache.get(eq(user.getEmail()), any(Callable.class))).thenReturn(staleUserId);
+            when(cache.get(eq(staleUserId), any(Callable.class))).thenReturn(staleResponse);
+            when(userRepository.findWithCardsByEmail(user.getEmail())).thenReturn(Optional.of(user));
+            when(userMapper.toResponse(user)).thenReturn(response);
+
+            var serviceResponse = userService.getByEmail(user.getEmail());
+
+            // Then
+            assertEquals(response, serviceResponse);
+
+            verify(emailCache, times(1)).evict(user.getEmail());
+            verify(cache, times(1)).put(user.getUserId(), response);
+            verify(emailCache, times(1)).put(user.getEmail(), user.getUserId());
         }
     }
 
@@ -246,45 +394,107 @@ class UserServiceImplTest {
             // Given
             var user = createUser("TEST_NAME", "TEST_SURNAME", LocalDate.now(), "TEST@EMAIL");
             var response = createUserResponse(user);
-            var pageable = PageRequest.of(0, 10);
-            var ids = new PageImpl<>(List.of(user.getId()), pageable, 1);
+            var pageable = PageRequest.of(0, 1);
 
             // When
-            when(userRepository.findUserIds(pageable)).thenReturn(ids);
-            when(userRepository.findAllWithCardsByIds(ids.toList())).thenReturn(List.of(user));
+            when(userRepository.findSliceWithCards(pageable)).thenReturn(new SliceImpl<>(List.of(user), pageable, true));
+            when(userRepository.count()).thenReturn(3L);
             when(userMapper.toResponse(user)).thenReturn(response);
 
             var serviceResponse = userService.getAllPaged(pageable);
 
             // Then
-            assertEquals(1, serviceResponse.getTotalElements());
+            assertEquals(3, serviceResponse.getTotalElements());
             assertEquals(response, serviceResponse.getContent().get(0));
 
-            verify(userRepository, times(1)).findUserIds(pageable);
-            verify(userRepository, times(1)).findAllWithCardsByIds(List.of(user.getId()));
+            verify(userRepository, times(1)).findSliceWithCards(pageable);
             verify(userMapper, times(1)).toResponse(user);
         }
 
         @Test
-        @DisplayName("Should return empty page when there's no existing users")
+        @DisplayName("Should return empty page without count query when there's no existing users")
         void givenNoUsers_whenGetAllPaged_thenReturnsEmptyPage() {
             // Given
             var pageable = PageRequest.of(0, 10);
-            Page<UUID> ids = new PageImpl<>(List.of(), pageable, 1);
 
             // When
-            when(userRepository.findUserIds(pageable)).thenReturn(ids);
-            when(userRepository.findAllWithCardsByIds(ids.toList())).thenReturn(List.of());
+            when(userRepository.findSliceWithCards(pageable)).thenReturn(new SliceImpl<>(List.of(), pageable, false));
 
             var serviceResponse = userService.getAllPaged(pageable);
 
             // Then
-            assertEquals(1, serviceResponse.getTotalElements());
+            assertEquals(0, serviceResponse.getTotalElements());
 
-            verify(userRepository, times(1)).findUserIds(pageable);
-            verify(userRepository, times(1)).findAllWithCardsByIds(List.of());
+            verify(userRepository, never()).count();
             verify(userMapper, never()).toResponse(any());
         }
+
+        @Test
+        @DisplayName("Should return page without total and skip count query when count mode is NONE")
+        void givenCountModeNone_whenGetAllPaged_thenReturnsPageWithoutTotal() {
+            // Given
+            var user = createUser("TEST_NAME", "TEST_SURNAME", LocalDate.now(), "TEST@EMAIL");
+            var response = createUserResponse(user);
+            var pageable = PageRequest.of(0, 1);
+
+            // When
+            when(userRepository.findSliceWithCards(pageable)).thenReturn(new SliceImpl<>(List.of(user), pageable, true));
+            when(userMapper.toResponse(user)).thenReturn(response);
+
+            var serviceResponse = userService.getAllPaged(pageable, CountMode.NONE);
+
+            // Then
+            assertEquals(CountMode.NONE, serviceResponse.countMode());
+            assertEquals(true, serviceResponse.hasNext());
+            assertNull(serviceResponse.totalElements());
+            assertEquals(response, serviceResponse.content().get(0));
+
+            verify(userRepository, never()).count();
+            verify(userRepository, never()).estimateCount();
+        }
+
+        @Test
+        @DisplayName("Should return planner estimate as total when count mode is ESTIMATED")
+        void givenCountModeEstimated_whenGetAllPaged_thenReturnsEstimatedTotal() {
+            // Given
+            var user = createUser("TEST_NAME", "TEST_SURNAME", LocalDate.now(), "TEST@EMAIL");
+            var pageable = PageRequest.of(0, 1);
+
+            // When
+            when(userRepository.findSliceWithCards(pageable)).thenReturn(new SliceImpl<>(List.of(user), pageable, true));
+            when(userRepository.estimateCount()).thenReturn(1000L);
+
+            var serviceResponse = userService.getAllPaged(pageable, CountMode.ESTIMATED);
+
+            // Then
+            assertEquals(CountMode.ESTIMATED, serviceResponse.countMode());
+            assertEquals(1000L, serviceResponse.totalElements());
+            assertEquals(1000, serviceResponse.totalPages());
+
+            verify(userRepository, never()).count();
+        }
+
+        @Test
+        @DisplayName("Should return exact total without estimate when estimated page is the last one")
+        void givenLastPageInEstimatedMode_whenGetAllPaged_thenReturnsExactTotal() {
+            // Given
+            var first = createUser("TEST_NAME1", "TEST_SURNAME1", LocalDate.now(), "TEST@EMAIL1");
+            var second = createUser("TEST_NAME2", "TEST_SURNAME2", LocalDate.now(), "TEST@EMAIL2");
+            var pageable = PageRequest.of(2, 10);
+
+            // When
+            when(userRepository.findSliceWithCards(pageable))
+                    .thenReturn(new SliceImpl<>(List.of(first, second), pageable, false));
+
+            var serviceResponse = userService.getAllPaged(pageable, CountMode.ESTIMATED);
+
+            // Then
+            assertEquals(CountMode.EXACT, serviceResponse.countMode());
+            assertEquals(22L, serviceResponse.totalElements());
+            assertEquals(3, serviceResponse.totalPages());
+
+            verify(userRepository, never()).estimateCount();
+        }
     }
 
     @Nested
@@ -342,6 +552,31 @@ class UserServiceImplTest {
             );
         }
 
+        @Test
+        @DisplayName("Should evict user and both old and new email index entries when email is changing")
+        void givenExistingUserWithChangingEmail_whenUpdate_thenEvictsUserAndEmailIndex() {
+            // Given
+            var user = createUser("TEST_NAME", "TEST_SURNAME", LocalDate.now(), "TEST@EMAIL");
+            var request = createUserUpdateRequest("NEW_EMAIL");
+
+            // When
+            when(userRepository.findUserByUserId(user.getUserId())).thenReturn(Optional.of(user));
+            when(userRepository.existsByEmail(request.email())).thenReturn(false);
+            doAnswer(invocation -> {
+                user.setEmail(request.email());
+                return null;
+            }).when(userMapper).update(request, user);
+            when(cacheManager.getCache(CacheNames.USER_CACHE)).thenReturn(cache);
+            when(cacheManager.getCache(CacheNames.USER_EMAIL_CACHE)).thenReturn(emailCache);
+
+            userService.update(user.getUserId(), request);
+
+            // Then
+            verify(cache, times(1)).evict(user.getUserId());
+            verify(emailCache, times(1)).evict("TEST@EMAIL");
+            verify(emailCache, times(1)).evict("NEW_EMAIL");
+        }
+
         @Test
         @DisplayName("Should not update user when user exists, email is changing and email exists")
         void givenExistingUserWithChangingEmailAndEmailExists_whenUpdate_thenThrowsUserEmailAlreadyExistsException() {
@@ -425,16 +660,36 @@ class UserServiceImplTest {
 
             // When
             when(userRepository.findUserByUserId(user.getUserId())).thenReturn(Optional.of(user));
-            when(cacheManager.getCache(UserServiceImpl.USER_CACHE)).thenReturn(cache);
+            when(cacheManager.getCache(CacheNames.USER_CACHE)).thenReturn(cache);
+            when(cacheManager.getCache(CacheNames.USER_EMAIL_CACHE)).thenReturn(emailCache);
 
             userService.delete(user.getUserId());
 
             // Then
-            verify(cacheManager, times(1)).getCache(UserServiceImpl.USER_CACHE);
             verify(cache, times(1)).evict(user.getUserId());
-            verify(cache, times(1)).evict(user.getEmail());
+            verify(emailCache, times(1)).evict(user.getEmail());
             verify(userRepository, times(1)).deleteByUserId(user.getUserId());
         }
+
+        @Test
+        @DisplayName("Should evict owners of user's cards when deleting existing user")
+        void givenExistingUserWithCards_whenDelete_thenEvictsCardOwners() {
+            // Given
+            var user = createUser("TEST_NAME", "TEST_SURNAME", LocalDate.now(), "TEST@EMAIL");
+            var cardId = UUID.randomUUID();
+
+            // When
+            when(userRepository.findUserByUserId(user.getUserId())).thenReturn(Optional.of(user));
+            when(cardRepository.findCardIdsByUserId(user.getUserId())).thenReturn(List.of(cardId));
+            when(cacheManager.getCache(CacheNames.USER_CACHE)).thenReturn(cache);
+            when(cacheManager.getCache(CacheNames.USER_EMAIL_CACHE)).thenReturn(emailCache);
+            when(cacheManager.getCache(CacheNames.CARD_OWNER_CACHE)).thenReturn(ownerCache);
+
+            userService.delete(user.getUserId());
+
+            // Then
+            verify(ownerCache, times(1)).evict(cardId.toString());
+        }
     }
 
     @Nested
@@ -473,6 +728,10 @@ class UserServiceImplTest {
         }
     }
 
+    private Answer<Object> callLoader() {
+        return invocation -> invocation.<Callable<?>>getArgument(1).call();
+    }
+
     private UserCreateRequest createUserCreateRequest() {
         return new UserCreateRequest(
                 UUID.randomUUID().toString(),